@@ -0,0 +1,43 @@
+package org.example.taskmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Read-through lookup that runs the loader on the calling thread, outside the cache's locks.
+// Caffeine's Cache.get(key, loader) runs the loader inside a ConcurrentHashMap compute, whose monitor pins a
+// virtual thread to its carrier for the whole database query. Here the map only ever holds a future: the first
+// caller completes it, concurrent callers for the same key wait on it, which parks a virtual thread instead.
+// A null value or a failed load leaves no entry behind.
+public final class ReadThrough {
+    private ReadThrough() {
+    }
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        AtomicBoolean owner = new AtomicBoolean();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> {
+            owner.set(true);
+            return loading;
+        });
+        if (owner.get()) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.taskmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Bounded read-through cache of single tasks by id (W-TinyLFU eviction plus a max age).
+// Writers drop the entry only after their transaction has finished. Dropping it also drops a load still
+// in flight: its callers get what it read, but the cache never keeps it, so nothing read before the commit
+// can be put back afterwards. Loads run outside the cache's locks, see ReadThrough.
+@Component
+public class TaskCache {
+    private final TaskRepository taskRepository;
+    private final AsyncCache<Long, GetTaskDTO> cache;
+
+    public TaskCache(TaskRepository taskRepository, MeterRegistry meterRegistry,
+                     @Value("${task.cache.max-size:10000}") long maxSize,
+                     @Value("${task.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.taskRepository = taskRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "tasks");
+    }
+
+    public Optional<GetTaskDTO> get(Long id) {
+        // callers inside a transaction must see their own uncommitted writes, so they skip the cache
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return taskRepository.findDtoById(id);
+        }
+        // missing tasks are not cached, the loader returning null leaves no entry behind
+        return Optional.ofNullable(ReadThrough.get(cache, id, key -> taskRepository.findDtoById(key).orElse(null)));
+    }
+
+    // The cached task without loading it, null if absent or still loading. May be a version behind a write that is just committing,
+    // so it is only good as a guess that a version check in the database confirms.
+    public GetTaskDTO peek(Long id) {
+        return cache.synchronous().getIfPresent(id);
+    }
+
+    // Runs after commit and after rollback alike, dropping an entry that is still correct is harmless
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        cache.synchronous().invalidate(event.taskId());
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.taskmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Bounded, short-lived cache of User entities by id, for the few paths that need the entity and not just the
+// authenticated principal, such as setting a new task's owner. Entries are detached, only read them.
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, User> cache;
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                     @Value("${security.user-cache.max-size:10000}") long maxSize,
+                     @Value("${security.user-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "users");
+    }
+
+    public Optional<User> get(Long id) {
+        // missing users are not cached
+        return Optional.ofNullable(ReadThrough.get(cache, id, key -> userRepository.findById(key).orElse(null)));
+    }
+}
@@ -1,7 +1,12 @@
 package org.example.taskmanagementsystem.config.auth;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.example.taskmanagementsystem.ratelimit.AddressRateLimitFilter;
+import org.example.taskmanagementsystem.ratelimit.UserRateLimitFilter;
 import org.example.taskmanagementsystem.service.MyUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,8 +15,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -21,12 +24,22 @@ public class AuthConfig {
     @Autowired
     SecurityFilter securityFilter;
 
+    @Autowired
+    AddressRateLimitFilter addressRateLimitFilter;
+
+    @Autowired
+    UserRateLimitFilter userRateLimitFilter;
+
     @Autowired
     MyUserDetailsService myUserDetailsService;
 
-    @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Hashing runs on its own bounded pool, see BoundedPasswordEncoder
+    @Bean(destroyMethod = "shutdown")
+    BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                    @Value("${security.password.bcrypt-strength:10}") int strength,
+                                    @Value("${security.password.threads:0}") int threads,
+                                    @Value("${security.password.queue-capacity:100}") int queueCapacity) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -41,13 +54,23 @@ public class AuthConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // the dispatch ending an SSE stream or export, the request itself was authorized already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/logout").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/auth/logout-all").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/auth/users/{id}/logout-all").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/auth/register").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/auth/register/bulk").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/stream").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/tasks").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/tasks/{id}").permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                // before the token is verified, so a bad token costs its sender a request like any other
+                .addFilterBefore(addressRateLimitFilter, SecurityFilter.class)
+                // after the token is read, so authenticated requests are limited per user
+                .addFilterAfter(userRateLimitFilter, SecurityFilter.class)
                 .build();
     }
 }
\ No newline at end of file
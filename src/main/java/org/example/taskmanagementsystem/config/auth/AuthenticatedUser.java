@@ -0,0 +1,32 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+
+// Principal of a request authenticated with an access token, built from the token's claims instead of
+// loading the user. Role changes apply to tokens issued after them. Code that needs the User entity
+// itself gets it from the UserCache by id.
+public record AuthenticatedUser(Long id, String email, UserRole role) implements Principal {
+
+    public static AuthenticatedUser of(User user) {
+        // users without a role are members, as in User.getAuthorities
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole() != null ? user.getRole() : UserRole.MEMBER);
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
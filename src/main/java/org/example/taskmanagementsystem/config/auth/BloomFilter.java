@@ -0,0 +1,51 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over SHA-256 digests: answers "definitely absent" or "maybe present".
+// The k bit positions come from two 64-bit halves of the digest (Kirsch-Mitzenmacher double hashing),
+// since a cryptographic digest is already uniformly distributed. Lookups are lock free and see every
+// completed put, bits only ever go from 0 to 1, so entries cannot be removed, only dropped with a rebuild.
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    // Sized for the expected number of entries at the given false positive rate, per the usual
+    // m = -n ln p / (ln 2)^2 bits and k = m/n ln 2 hash functions
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(byte[] digest) {
+        long h1 = ByteBuffer.wrap(digest, 0, 8).getLong();
+        long h2 = ByteBuffer.wrap(digest, 8, 8).getLong();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(byte[] digest) {
+        long h1 = ByteBuffer.wrap(digest, 0, 8).getLong();
+        long h2 = ByteBuffer.wrap(digest, 8, 8).getLong();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,7 +5,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.example.taskmanagementsystem.exception.ResourceNotFoundException;
-import org.example.taskmanagementsystem.repository.InvalidTokenRepository;
 import org.example.taskmanagementsystem.repository.UserRepository;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,12 +19,16 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private UserRepository userRepository;
 
-    private InvalidTokenRepository invalidTokenRepository;
+    private TokenRevocationList tokenRevocationList;
 
-    public SecurityFilter(TokenProvider tokenService, UserRepository userRepository, InvalidTokenRepository invalidTokenRepository) {
+    private TokenEpochs tokenEpochs;
+
+    public SecurityFilter(TokenProvider tokenService, UserRepository userRepository, TokenRevocationList tokenRevocationList,
+                          TokenEpochs tokenEpochs) {
         this.tokenService = tokenService;
         this.userRepository = userRepository;
-        this.invalidTokenRepository = invalidTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.tokenEpochs = tokenEpochs;
     }
 
     @Override
@@ -33,21 +36,33 @@ public class SecurityFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null) {
-            // check if token was blacklisted
-            if (invalidTokenRepository.findByToken(token).isPresent()) {
+            // check if token was blacklisted, in memory
+            if (tokenRevocationList.isRevoked(token)) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token invalidated. Please log in again.");
                 return;
             }
 
-            var email = tokenService.validateToken(token);
-            var user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            var verifiedToken = tokenService.validateToken(token);
+            // the principal comes from the token's claims, no user lookup per request
+            var principal = verifiedToken.principal();
+            if (principal == null) {
+                // token issued before the claims were added, valid for at most an hour after upgrading
+                principal = userRepository.findByEmail(verifiedToken.subject())
+                        .map(AuthenticatedUser::of)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            }
+            // all of the user's tokens were revoked after this one was issued
+            if (!tokenEpochs.isCurrent(principal.id(), verifiedToken.epoch())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token invalidated. Please log in again.");
+                return;
+            }
 
             var authentication = new UsernamePasswordAuthenticationToken(
-                    user,
+                    principal,
                     null,
-                    user.getAuthorities()
+                    principal.getAuthorities()
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
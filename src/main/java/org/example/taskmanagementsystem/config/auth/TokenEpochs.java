@@ -0,0 +1,64 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.taskmanagementsystem.cache.ReadThrough;
+import org.example.taskmanagementsystem.exception.ResourceNotFoundException;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Current token epoch per user. Every access token carries the epoch it was issued in and is only accepted
+// while that is still the user's epoch, so revoking all of a user's tokens is one increment of users.token_epoch
+// instead of a row per token. Epochs are cached for expire-after-write: increments made here apply at once,
+// increments on other instances once the cached value expires.
+@Component
+public class TokenEpochs {
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, Long> epochs;
+
+    public TokenEpochs(UserRepository userRepository, MeterRegistry meterRegistry,
+                       @Value("${security.jwt.epoch-cache.max-size:10000}") long maxSize,
+                       @Value("${security.jwt.epoch-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs.synchronous(), "token-epochs");
+    }
+
+    public boolean isCurrent(Long userId, long epoch) {
+        // a deleted user has no newer epoch, their tokens stay valid until they expire as before
+        return epoch >= ReadThrough.get(epochs, userId, id -> userRepository.findTokenEpochById(id).orElse(0L));
+    }
+
+    // Revoke every token issued to the user so far, returns the new epoch
+    @Transactional
+    public long advance(Long userId) {
+        if (userRepository.incrementTokenEpoch(userId) == 0) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        long epoch = userRepository.findTokenEpochById(userId).orElseThrow();
+        epochs.put(userId, CompletableFuture.completedFuture(epoch));
+        // an enclosing transaction may still roll the increment back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    epochs.synchronous().invalidate(userId);
+                }
+            }
+        });
+        return epoch;
+    }
+}
@@ -1,29 +1,61 @@
 package org.example.taskmanagementsystem.config.auth;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.example.taskmanagementsystem.enums.UserRole;
 import org.example.taskmanagementsystem.model.User;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenProvider {
-    @Value("${security.jwt.token.secret-key}")
-    private String JWT_SECRET;
+    // Algorithm and JWTVerifier are immutable and thread safe, so they are built once
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    // Tokens already verified, by SHA-256 of the token, until they expire. A client sends the same token
+    // with every request for an hour, this skips the HMAC check and the JSON decoding after the first one.
+    private final Cache<ByteBuffer, VerifiedToken> verified;
+
+    public TokenProvider(@Value("${security.jwt.token.secret-key}") String secretKey,
+                         @Value("${security.jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((ByteBuffer digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
 
     public String generateAccessToken(User user) {
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
         try {
-            Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET);
             return JWT.create()
                     .withSubject(user.getEmail())
                     .withClaim("username", user.getUsername())
+                    // enough to authenticate requests without loading the user
+                    .withClaim("uid", principal.id())
+                    .withClaim("role", principal.role().name())
+                    // revoked with every other token of the user once their epoch moves past it
+                    .withClaim("epoch", user.getTokenEpoch())
+                    // unique per login, so revoking one token never revokes another issued in the same second
+                    .withJWTId(UUID.randomUUID().toString())
                     .withExpiresAt(genAccessExpirationDate())
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
@@ -31,20 +63,50 @@ public class TokenProvider {
         }
     }
 
-    public String validateToken(String token) {
+    public VerifiedToken validateToken(String token) {
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        // the cache may hold an entry a moment past its expiry
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken verifiedToken = verify(token);
+        verified.put(digest, verifiedToken);
+        return verifiedToken;
+    }
+
+    // Full signature and expiry check, without the cache
+    VerifiedToken verify(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET);
-            return JWT.require(algorithm)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT jwt = verifier.verify(token);
+            Claim epoch = jwt.getClaim("epoch");
+            return new VerifiedToken(jwt.getSubject(), getPrincipal(jwt),
+                    epoch.isMissing() || epoch.isNull() ? 0 : epoch.asLong(), jwt.getExpiresAtAsInstant());
         } catch (JWTVerificationException exception) {
             throw new JWTVerificationException("Error while validating token", exception);
         }
     }
 
+    // The principal carried by a validated token, null for tokens issued before the uid and role claims
+    private static AuthenticatedUser getPrincipal(DecodedJWT jwt) {
+        Claim uid = jwt.getClaim("uid");
+        Claim role = jwt.getClaim("role");
+        if (uid.isMissing() || uid.isNull() || role.isMissing() || role.isNull()) {
+            return null;
+        }
+        return new AuthenticatedUser(uid.asLong(), jwt.getSubject(), UserRole.valueOf(role.asString()));
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     // access token should expire after an hour
     private Instant genAccessExpirationDate() {
         return Instant.now().plusSeconds(60 * 60);
     }
-}
\ No newline at end of file
+}
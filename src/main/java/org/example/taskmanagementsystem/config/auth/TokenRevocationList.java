@@ -0,0 +1,140 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import jakarta.annotation.PostConstruct;
+import org.example.taskmanagementsystem.model.InvalidToken;
+import org.example.taskmanagementsystem.repository.InvalidTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Revoked (logged out) access tokens, checked on every authenticated request without touching the database.
+// Tokens are known by their SHA-256 only. A Bloom filter answers almost every lookup of a token that was never
+// revoked; its rare false positives are settled by an exact map of hashes to the token's own expiry.
+// The invalid_token table is the shared copy: loaded at startup, read every refresh-interval for the rows added
+// since, to pick up logouts on other instances, and purged of rows whose token has expired anyway.
+@Component
+public class TokenRevocationList {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    // replaced by rebuild(), adds and rebuilds hold the lock so no revocation misses the new filter
+    private volatile BloomFilter filter;
+    private final Object writeLock = new Object();
+    // highest invalid_token id read so far
+    private final AtomicLong lastId = new AtomicLong();
+
+    public TokenRevocationList(InvalidTokenRepository invalidTokenRepository,
+                               @Value("${security.jwt.revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.invalidTokenRepository = invalidTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void load() {
+        for (InvalidToken row : invalidTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            read(row);
+        }
+    }
+
+    public boolean isRevoked(String token) {
+        byte[] digest = digest(token);
+        if (!filter.mightContain(digest)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(HexFormat.of().formatHex(digest));
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    // Revoke a token until it expires, false if it already was
+    public boolean revoke(String token, Instant expiresAt) {
+        byte[] digest = digest(token);
+        String hash = HexFormat.of().formatHex(digest);
+        if (revoked.containsKey(hash)) {
+            return false;
+        }
+        try {
+            invalidTokenRepository.save(new InvalidToken(hash, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            // revoked by a concurrent logout, here or on another instance
+            add(digest, hash, expiresAt);
+            return false;
+        }
+        add(digest, hash, expiresAt);
+        return true;
+    }
+
+    // Pick up tokens revoked on other instances, reading only the rows added since the last refresh. An id is
+    // given out before its row commits, so a row can commit after a higher id was read: the purge's full reload
+    // picks those up.
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:30s}", initialDelayString = "${security.jwt.revocation.refresh-interval:30s}")
+    public void refresh() {
+        Instant now = Instant.now();
+        for (InvalidToken row : invalidTokenRepository.findByIdGreaterThan(lastId.get())) {
+            if (row.getExpiresAt().isAfter(now)) {
+                read(row);
+            } else {
+                lastId.accumulateAndGet(row.getId(), Math::max);
+            }
+        }
+    }
+
+    // Forget expired tokens, in the table and in memory, and read the table in full for any row refresh() missed.
+    // The Bloom filter cannot drop entries, so it is rebuilt.
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:10m}", initialDelayString = "${security.jwt.revocation.purge-interval:10m}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = invalidTokenRepository.deleteExpired(now);
+        load();
+        synchronized (writeLock) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(hash -> rebuilt.put(HexFormat.of().parseHex(hash)));
+            filter = rebuilt;
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired revoked tokens", purged);
+        }
+    }
+
+    private void read(InvalidToken row) {
+        lastId.accumulateAndGet(row.getId(), Math::max);
+        if (!revoked.containsKey(row.getTokenHash())) {
+            add(HexFormat.of().parseHex(row.getTokenHash()), row.getTokenHash(), row.getExpiresAt());
+        }
+    }
+
+    private void add(byte[] digest, String hash, Instant expiresAt) {
+        synchronized (writeLock) {
+            revoked.put(hash, expiresAt);
+            filter.put(digest);
+        }
+    }
+
+    private static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import java.time.Instant;
+
+// What a request needs from an access token whose signature and expiry have been checked.
+// The principal is null for tokens issued before the uid and role claims, those only carry the subject.
+// Tokens issued before the epoch claim are of epoch 0.
+public record VerifiedToken(String subject, AuthenticatedUser principal, long epoch, Instant expiresAt) {
+}
@@ -2,21 +2,29 @@ package org.example.taskmanagementsystem.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
 import org.example.taskmanagementsystem.config.auth.TokenProvider;
+import org.example.taskmanagementsystem.dto.auth.BulkUserResult;
 import org.example.taskmanagementsystem.dto.auth.JwtDTO;
 import org.example.taskmanagementsystem.dto.auth.LoginDTO;
 import org.example.taskmanagementsystem.model.User;
 import org.example.taskmanagementsystem.service.AuthService;
+import org.example.taskmanagementsystem.service.UserCsvReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -40,6 +48,17 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body("User created successfully!");
     }
 
+    // Answers 200 with one result per user, in request order, like the bulk task endpoints
+    @PostMapping(value = "/register/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkUserResult>> registerAll(@RequestBody List<User> users) {
+        return ResponseEntity.ok(service.registerUsers(users));
+    }
+
+    @PostMapping(value = "/register/bulk", consumes = "text/csv")
+    public ResponseEntity<List<BulkUserResult>> registerAllFromCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(service.registerUsers(UserCsvReader.read(csv)));
+    }
+
     @PostMapping("/login")
     public ResponseEntity<JwtDTO> login(@RequestBody @Valid LoginDTO data) {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.getEmail(), data.getPassword());
@@ -59,5 +78,18 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Logout failed, token already invalid.");
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<String> logoutAll(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        service.invalidateAllTokens(currentUser.id());
+        return ResponseEntity.ok("Logged out of all sessions, tokens invalidated.");
+    }
+
+    // Admins end every session of another user, e.g. after a password leak
+    @PostMapping("/users/{id}/logout-all")
+    public ResponseEntity<String> logoutAllOf(@PathVariable Long id) {
+        service.invalidateAllTokens(id);
+        return ResponseEntity.ok("Logged out of all sessions, tokens invalidated.");
+    }
+
 
 }
\ No newline at end of file
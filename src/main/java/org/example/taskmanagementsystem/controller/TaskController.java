@@ -1,14 +1,34 @@
 package org.example.taskmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.BulkItemResult;
 import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
 import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskPage;
+import org.example.taskmanagementsystem.dto.task.TaskStatsDTO;
+import org.example.taskmanagementsystem.dto.task.TaskTicketDTO;
+import org.example.taskmanagementsystem.dto.task.UpdateTaskItemDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.feed.TaskFeed;
+import org.example.taskmanagementsystem.ingest.TaskIngestionQueue;
 import org.example.taskmanagementsystem.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -17,33 +37,114 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
-    // Get all tasks
+    @Autowired
+    private TaskIngestionQueue taskIngestionQueue;
+
+    @Autowired
+    private TaskFeed taskFeed;
+
+    // Get a page of tasks, optionally filtered and sorted, the next page is advertised in the Link header
     @GetMapping
-    public ResponseEntity<List<GetTaskDTO>> getAllTasks() {
-        List<GetTaskDTO> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<GetTaskDTO>> getAllTasks(@RequestParam(required = false) TaskStatus status,
+                                                        @RequestParam(required = false) TaskPriority priority,
+                                                        @RequestParam(required = false) String ownerEmail,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        TaskFilter filter = new TaskFilter(status, priority, ownerEmail);
+        TaskPage page = taskService.getTasks(filter, sort, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+        }
+        return response.body(page.tasks());
     }
 
-    // Get task by id
+    // Full text search over task titles and descriptions, best matches first
+    @GetMapping("/search")
+    public ResponseEntity<List<GetTaskDTO>> searchTasks(@RequestParam String q,
+                                                        @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskService.searchTasks(q, size));
+    }
+
+    // Server-Sent Events of task changes after they commit: members get their own tasks, admins every task
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                  @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return taskFeed.subscribe(currentUser, authorization.replace("Bearer ", ""));
+    }
+
+    // Task counts by status and priority, served from in-memory counters
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats(@RequestParam(required = false) String ownerEmail) {
+        return ResponseEntity.ok(taskService.getTaskStats(ownerEmail));
+    }
+
+    // Get task by id. Spring answers a matching If-None-Match with 304 and skips writing the body
     @GetMapping("/{id}")
     public ResponseEntity<GetTaskDTO> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
+                .map(task -> ResponseEntity.ok().eTag(task.getETag()).body(task))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Create a new task
     @PostMapping
-    public ResponseEntity<GetTaskDTO> createTask(@RequestBody CreateTaskDTO taskDto) {
+    public ResponseEntity<GetTaskDTO> createTask(@RequestBody @Valid CreateTaskDTO taskDto) {
         GetTaskDTO createdTask = taskService.createTask(taskDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
-    // Update an existing task
+    // Queue a new task to be created in the background, answers 202 with a ticket to poll, or 503 when the queue is full
+    @PostMapping(params = "async=true")
+    public ResponseEntity<TaskTicketDTO> createTaskAsync(@RequestBody @Valid CreateTaskDTO taskDto,
+                                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        TaskTicketDTO ticket = taskIngestionQueue.submit(taskDto, currentUser);
+        return ResponseEntity.accepted().location(URI.create("/api/tasks/tickets/" + ticket.ticket())).body(ticket);
+    }
+
+    // State of a queued task, until the ticket expires
+    @GetMapping("/tickets/{ticket}")
+    public ResponseEntity<TaskTicketDTO> getTicket(@PathVariable UUID ticket, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return taskIngestionQueue.getTicket(ticket, currentUser)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Update an existing task, conditional when an If-Match header is sent
     @PutMapping("/{id}")
-    public ResponseEntity<GetTaskDTO> updateTask(@PathVariable Long id, @RequestBody CreateTaskDTO taskDetailsDto) {
-        GetTaskDTO updatedTask = taskService.updateTask(id, taskDetailsDto);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<GetTaskDTO> updateTask(@PathVariable Long id, @RequestBody @Valid CreateTaskDTO taskDetailsDto,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        GetTaskDTO updatedTask = taskService.updateTask(id, taskDetailsDto, ifMatch);
+        return ResponseEntity.ok().eTag(updatedTask.getETag()).body(updatedTask);
+    }
+
+    // Partial update with a JSON Merge Patch (RFC 7386), conditional when an If-Match header is sent
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<GetTaskDTO> patchTask(@PathVariable Long id, @RequestBody JsonNode patch,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        GetTaskDTO updatedTask = taskService.patchTask(id, patch, ifMatch);
+        return ResponseEntity.ok().eTag(updatedTask.getETag()).body(updatedTask);
+    }
+
+    // Bulk endpoints take an array and answer 200 with one result per entry, in request order.
+    // Entries fail one by one (400, 403, 404) without affecting the others.
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> createTasks(@RequestBody List<CreateTaskDTO> taskDtos) {
+        return ResponseEntity.ok(taskService.createTasks(taskDtos));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> updateTasks(@RequestBody List<UpdateTaskItemDTO> items) {
+        return ResponseEntity.ok(taskService.updateTasks(items));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> deleteTasks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
     }
 
     // Delete a task by id
@@ -0,0 +1,22 @@
+package org.example.taskmanagementsystem.dto.auth;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one row of a bulk registration, at the row's position in the request.
+// The status is what POST /auth/register would have answered for it.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkUserResult(
+        int index,
+        int status,
+        Long id,
+        String email,
+        String error
+) {
+    public static BulkUserResult created(int index, Long id, String email) {
+        return new BulkUserResult(index, 201, id, email, null);
+    }
+
+    public static BulkUserResult failure(int index, int status, String email, String error) {
+        return new BulkUserResult(index, status, null, email, error);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one entry of a bulk request, reported at the entry's position in the request array.
+// The status is what the single-item endpoint would have answered for it.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(
+        int index,
+        int status,
+        Long id,
+        GetTaskDTO task,
+        String error
+) {
+    public static BulkItemResult success(int index, int status, GetTaskDTO task) {
+        return new BulkItemResult(index, status, task.getId(), task, null);
+    }
+
+    public static BulkItemResult deleted(int index, Long id) {
+        return new BulkItemResult(index, 204, id, null, null);
+    }
+
+    public static BulkItemResult failure(int index, int status, Long id, String error) {
+        return new BulkItemResult(index, status, id, null, error);
+    }
+}
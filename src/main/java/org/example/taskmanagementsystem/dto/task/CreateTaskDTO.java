@@ -1,14 +1,20 @@
 package org.example.taskmanagementsystem.dto.task;
 
+import jakarta.validation.constraints.NotNull;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+
 public class CreateTaskDTO {
     private String title;
     private String description;
-    private String status;
-    private String priority;
+    @NotNull
+    private TaskStatus status;
+    @NotNull
+    private TaskPriority priority;
 
     public CreateTaskDTO() {}
 
-    public CreateTaskDTO(String title, String description, String status, String priority) {
+    public CreateTaskDTO(String title, String description, TaskStatus status, TaskPriority priority) {
         this.title = title;
         this.description = description;
         this.status = status;
@@ -31,19 +37,19 @@ public class CreateTaskDTO {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
-    public String getPriority() {
+    public TaskPriority getPriority() {
         return priority;
     }
 
-    public void setPriority(String priority) {
+    public void setPriority(TaskPriority priority) {
         this.priority = priority;
     }
 }
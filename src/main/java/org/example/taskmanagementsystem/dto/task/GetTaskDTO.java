@@ -1,14 +1,20 @@
 package org.example.taskmanagementsystem.dto.task;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
 import org.example.taskmanagementsystem.model.Task;
 
 public class GetTaskDTO extends CreateTaskDTO {
     private Long id;
     private String ownerEmail;
+    // only used to derive the ETag, not part of the response body
+    @JsonIgnore
+    private Long version;
 
     public GetTaskDTO() {}
 
-    public GetTaskDTO(Long id, String title, String description, String status, String priority, String ownerEmail) {
+    public GetTaskDTO(Long id, String title, String description, TaskStatus status, TaskPriority priority, String ownerEmail) {
         super(title, description, status, priority);
         this.id = id;
 
@@ -16,6 +22,12 @@ public class GetTaskDTO extends CreateTaskDTO {
         this.ownerEmail = ownerEmail;
     }
 
+    public GetTaskDTO(Long id, String title, String description, TaskStatus status, TaskPriority priority, String ownerEmail,
+                      Long version) {
+        this(id, title, description, status, priority, ownerEmail);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -32,6 +44,23 @@ public class GetTaskDTO extends CreateTaskDTO {
         this.ownerEmail =ownerEmail;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Strong validator, the task's version changes with every update
+    @JsonIgnore
+    public String getETag() {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version + "\"";
+    }
+
     public static GetTaskDTO fromTask(Task task) {
         return new GetTaskDTO(
                 task.getId(),
@@ -39,7 +68,8 @@ public class GetTaskDTO extends CreateTaskDTO {
                 task.getDescription(),
                 task.getStatus(),
                 task.getPriority(),
-                task.getOwner() != null ? task.getOwner().getEmail() : null
+                task.getOwner() != null ? task.getOwner().getEmail() : null,
+                task.getVersion()
         );
     }
 }
\ No newline at end of file
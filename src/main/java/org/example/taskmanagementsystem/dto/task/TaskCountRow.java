@@ -0,0 +1,12 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+
+// One group of the statistics recount: how many tasks an owner has with a given status and priority
+public record TaskCountRow(
+        String ownerEmail,
+        TaskStatus status,
+        TaskPriority priority,
+        long count
+) {}
@@ -0,0 +1,38 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import org.example.taskmanagementsystem.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Keyset position of a task page: the sort order it belongs to, plus the sort value
+// and id of the last task that was returned (the value is null when sorting by id).
+// Clients only ever see the encoded form, so the layout can change without breaking them.
+public record TaskCursor(TaskSort sort, String lastValue, long lastId) {
+
+    public String encode() {
+        String raw = sort + ":" + lastId + (lastValue != null ? ":" + lastValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length < 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            TaskSort sort = TaskSort.parse(parts[0]);
+            if ((sort.field() == TaskSort.Field.ID) != (parts.length == 2)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String lastValue = parts.length == 3 ? parts[2] : null;
+            if (lastValue != null) {
+                sort.field().parseValue(lastValue);
+            }
+            return new TaskCursor(sort, lastValue, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
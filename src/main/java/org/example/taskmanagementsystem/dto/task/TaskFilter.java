@@ -0,0 +1,13 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+
+// Optional equality filters of the task list, null fields are not filtered on
+public record TaskFilter(
+        TaskStatus status,
+        TaskPriority priority,
+        String ownerEmail
+) {
+    public static final TaskFilter NONE = new TaskFilter(null, null, null);
+}
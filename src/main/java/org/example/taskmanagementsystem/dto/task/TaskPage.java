@@ -0,0 +1,9 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import java.util.List;
+
+// One page of tasks plus the opaque cursor of the next page (null on the last page)
+public record TaskPage(
+        List<GetTaskDTO> tasks,
+        String nextCursor
+) {}
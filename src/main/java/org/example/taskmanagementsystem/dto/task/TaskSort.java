@@ -0,0 +1,67 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.exception.BadRequestException;
+
+// Sort order of the task list: a field plus direction, written as "priority" or "-priority".
+// The task id is always the tie breaker, so every order is total and can be paged with a cursor.
+public record TaskSort(Field field, boolean descending) {
+    public static final TaskSort DEFAULT = new TaskSort(Field.ID, false);
+
+    public enum Field {
+        ID("id"),
+        STATUS("status"),
+        PRIORITY("priority"),
+        OWNER_EMAIL("ownerEmail");
+
+        private final String param;
+
+        Field(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        // Typed sort value from its cursor form, throws IllegalArgumentException for values the field cannot hold
+        public Comparable<?> parseValue(String value) {
+            return switch (this) {
+                case ID -> null;
+                case STATUS -> TaskStatus.valueOf(value);
+                case PRIORITY -> TaskPriority.valueOf(value);
+                case OWNER_EMAIL -> value;
+            };
+        }
+    }
+
+    public static TaskSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT;
+        }
+        boolean descending = sort.startsWith("-");
+        String param = descending ? sort.substring(1) : sort;
+        for (Field field : Field.values()) {
+            if (field.param.equals(param)) {
+                return new TaskSort(field, descending);
+            }
+        }
+        throw new BadRequestException("Unknown sort field: " + param);
+    }
+
+    // Value of the sort field for a task, used to position the next page cursor
+    public String valueOf(GetTaskDTO task) {
+        return switch (field) {
+            case ID -> null;
+            case STATUS -> task.getStatus().name();
+            case PRIORITY -> task.getPriority().name();
+            case OWNER_EMAIL -> task.getOwnerEmail();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + field.param;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+
+import java.util.Map;
+
+// Task counts for the stats endpoint, every status and priority is listed, in declaration order
+public record TaskStatsDTO(
+        long total,
+        Map<TaskStatus, Long> byStatus,
+        Map<TaskPriority, Long> byPriority
+) {}
@@ -0,0 +1,27 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.taskmanagementsystem.enums.TicketStatus;
+
+import java.util.UUID;
+
+// Receipt for a task queued with POST /api/tasks?async=true, resolved to the task id once it is committed
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskTicketDTO(
+        UUID ticket,
+        TicketStatus status,
+        Long taskId,
+        String error
+) {
+    public static TaskTicketDTO pending(UUID ticket) {
+        return new TaskTicketDTO(ticket, TicketStatus.PENDING, null, null);
+    }
+
+    public static TaskTicketDTO created(UUID ticket, Long taskId) {
+        return new TaskTicketDTO(ticket, TicketStatus.CREATED, taskId, null);
+    }
+
+    public static TaskTicketDTO failed(UUID ticket, String error) {
+        return new TaskTicketDTO(ticket, TicketStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.taskmanagementsystem.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+
+// One entry of a bulk update: the id of the task plus its new content
+public class UpdateTaskItemDTO extends CreateTaskDTO {
+    @NotNull
+    private Long id;
+
+    public UpdateTaskItemDTO() {}
+
+    public UpdateTaskItemDTO(Long id, String title, String description, TaskStatus status, TaskPriority priority) {
+        super(title, description, status, priority);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
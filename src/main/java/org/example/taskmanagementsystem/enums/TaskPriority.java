@@ -0,0 +1,28 @@
+package org.example.taskmanagementsystem.enums;
+
+// Stored as its code, serialized as its name: neither may change once tasks use them.
+// Codes grow with urgency, so the database sorts priorities by their stored value.
+public enum TaskPriority {
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3);
+
+    private final short code;
+
+    TaskPriority(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TaskPriority fromCode(short code) {
+        for (TaskPriority p : TaskPriority.values()) {
+            if (p.code == code) {
+                return p;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task priority code: " + code);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.taskmanagementsystem.enums;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+// Stored as its code, serialized as its name: neither may change once tasks use them
+public enum TaskStatus {
+    TODO(1),
+    IN_PROGRESS(2),
+    // COMPLETED is what clients sent while status was free text
+    @JsonAlias("COMPLETED")
+    DONE(3);
+
+    private final short code;
+
+    TaskStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        for (TaskStatus s : TaskStatus.values()) {
+            if (s.code == code) {
+                return s;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code: " + code);
+    }
+}
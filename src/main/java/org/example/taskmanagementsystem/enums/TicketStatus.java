@@ -0,0 +1,8 @@
+package org.example.taskmanagementsystem.enums;
+
+// State of a task submitted for asynchronous creation
+public enum TicketStatus {
+    PENDING,
+    CREATED,
+    FAILED
+}
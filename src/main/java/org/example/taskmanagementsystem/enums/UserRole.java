@@ -1,5 +1,10 @@
 package org.example.taskmanagementsystem.enums;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
     ADMIN("admin"),
     TEAM_LEAD("team-lead"),
@@ -16,6 +21,14 @@ public enum UserRole {
         return role;
     }
 
+    // admins also hold the member role
+    public List<GrantedAuthority> getAuthorities() {
+        if (this == ADMIN) {
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_MEMBER"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_MEMBER"));
+    }
+
     public static UserRole fromString(String role) {
         for (UserRole r : UserRole.values()) {
             if (r.role.equalsIgnoreCase(role)) {
@@ -0,0 +1,30 @@
+package org.example.taskmanagementsystem.event;
+
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+
+// Published by TaskService for every task write; listeners that keep derived state
+// (search index, caches, ...) consume it once the surrounding transaction has committed.
+public record TaskEvent(
+        Type type,
+        Long taskId,
+        GetTaskDTO previous,    // state before the write, null for creates
+        GetTaskDTO task         // state after the write, null for deletes
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskEvent created(GetTaskDTO task) {
+        return new TaskEvent(Type.CREATED, task.getId(), null, task);
+    }
+
+    public static TaskEvent updated(GetTaskDTO previous, GetTaskDTO task) {
+        return new TaskEvent(Type.UPDATED, task.getId(), previous, task);
+    }
+
+    public static TaskEvent deleted(GetTaskDTO previous) {
+        return new TaskEvent(Type.DELETED, previous.getId(), previous, null);
+    }
+}
@@ -0,0 +1,327 @@
+package org.example.taskmanagementsystem.feed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.config.auth.TokenEpochs;
+import org.example.taskmanagementsystem.config.auth.TokenProvider;
+import org.example.taskmanagementsystem.config.auth.TokenRevocationList;
+import org.example.taskmanagementsystem.config.auth.VerifiedToken;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live task changes for GET /api/tasks/stream. Committed TaskEvents are handed to every subscriber allowed to
+// see the task (its owner and admins) without blocking on the network: each subscriber has a buffer of pending
+// events keyed by task id, and a few sender threads write the buffers out. While a slow subscriber's previous
+// events are still being written, further changes to the same task are merged into the one pending event, so a
+// subscriber that falls behind gets the latest state of each task instead of every step. A subscriber with more
+// than buffer-size distinct tasks pending is disconnected; it reconnects and reloads the task list.
+// Only writes made on this instance are streamed. A stream lasts no longer than the token it was opened with: on
+// every heartbeat, streams whose token was revoked, or has expired, are ended.
+@Component
+public class TaskFeed {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenEpochs tokenEpochs;
+    private final Executor sender;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    @Autowired
+    public TaskFeed(MeterRegistry meterRegistry, TokenProvider tokenProvider, TokenRevocationList tokenRevocationList,
+                    TokenEpochs tokenEpochs,
+                    @Value("${task.feed.max-subscribers:10000}") int maxSubscribers,
+                    @Value("${task.feed.buffer-size:1000}") int bufferSize,
+                    @Value("${task.feed.sender-threads:4}") int senderThreads,
+                    @Value("${task.feed.timeout:30m}") Duration timeout) {
+        this(meterRegistry, tokenProvider, tokenRevocationList, tokenEpochs, maxSubscribers, bufferSize,
+                newSender(senderThreads), timeout);
+    }
+
+    TaskFeed(MeterRegistry meterRegistry, TokenProvider tokenProvider, TokenRevocationList tokenRevocationList,
+             TokenEpochs tokenEpochs, int maxSubscribers, int bufferSize, Executor sender, Duration timeout) {
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.tokenEpochs = tokenEpochs;
+        this.sender = sender;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder("task.feed.subscribers", subscribers, Set::size)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("task.feed.coalesced")
+                .description("Task changes merged into a change still waiting to be sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("task.feed.dropped")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    // At most one drain per subscriber is queued, so the queue is bounded by max-subscribers
+    private static ExecutorService newSender(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-feed-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Open a stream of the changes the user may see, for as long as the token the request came with stays valid,
+    // or refuse it when max-subscribers are connected
+    public SseEmitter subscribe(AuthenticatedUser user, String token) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        try {
+            // sent right away so the client sees the stream open before the first change
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        register(user, token, emitter);
+        return emitter;
+    }
+
+    void register(AuthenticatedUser user, String token, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many open task streams, retry later");
+        }
+        // already verified by the security filter, this is the token provider's cached result
+        Subscriber subscriber = new Subscriber(user, token, tokenProvider.validateToken(token), emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        // ended normally, the client reconnects, rather than as a timeout error no handler could write to the stream
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscriber.close());
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs on the committing thread, only queues the event for each subscriber
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        GetTaskDTO task = event.task() != null ? event.task() : event.previous();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.user.isAdmin() || subscriber.user.email().equals(task.getOwnerEmail())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // A comment line now and then keeps proxies from closing idle streams and finds clients that went away.
+    // Streams whose token is no longer accepted are ended instead, the client's reconnect then gets a 401.
+    @Scheduled(fixedRateString = "${task.feed.heartbeat-interval:15s}", initialDelayString = "${task.feed.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.tokenValid()) {
+                subscriber.heartbeat();
+            } else {
+                subscriber.disconnect();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    // The one change a subscriber needs to see in place of two consecutive changes of a task, null if none:
+    // a task created and deleted before it was sent never existed for the subscriber
+    static TaskEvent coalesce(TaskEvent earlier, TaskEvent later) {
+        if (later.type() == TaskEvent.Type.DELETED) {
+            return earlier.type() == TaskEvent.Type.CREATED ? null : later;
+        }
+        if (later.type() == TaskEvent.Type.UPDATED) {
+            if (earlier.type() == TaskEvent.Type.CREATED) {
+                return TaskEvent.created(later.task());
+            }
+            if (earlier.type() == TaskEvent.Type.UPDATED) {
+                return TaskEvent.updated(earlier.previous(), later.task());
+            }
+        }
+        return later;
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(TaskEvent event) {
+        SseEmitter.SseEventBuilder sse = SseEmitter.event().name(event.type().name().toLowerCase());
+        if (event.type() == TaskEvent.Type.DELETED) {
+            return sse.data(Map.of("id", event.taskId()), MediaType.APPLICATION_JSON);
+        }
+        return sse.data(event.task(), MediaType.APPLICATION_JSON);
+    }
+
+    private class Subscriber {
+        private final AuthenticatedUser user;
+        private final String token;
+        private final VerifiedToken verifiedToken;
+        private final SseEmitter emitter;
+        // guarded by this, only held for in-memory work
+        private final LinkedHashMap<Long, TaskEvent> pending = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(AuthenticatedUser user, String token, VerifiedToken verifiedToken, SseEmitter emitter) {
+            this.user = user;
+            this.token = token;
+            this.verifiedToken = verifiedToken;
+            this.emitter = emitter;
+        }
+
+        // The same checks as the security filter's: logged out, all tokens revoked by an epoch bump, or expired
+        boolean tokenValid() {
+            return verifiedToken.expiresAt().isAfter(Instant.now())
+                    && !tokenRevocationList.isRevoked(token)
+                    && tokenEpochs.isCurrent(user.id(), verifiedToken.epoch());
+        }
+
+        void offer(TaskEvent event) {
+            boolean overflow = false;
+            boolean schedule = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                TaskEvent earlier = pending.get(event.taskId());
+                if (earlier != null) {
+                    coalesced.increment();
+                    TaskEvent merged = coalesce(earlier, event);
+                    if (merged != null) {
+                        pending.put(event.taskId(), merged);
+                    } else {
+                        pending.remove(event.taskId());
+                    }
+                } else if (pending.size() >= bufferSize) {
+                    overflow = true;
+                } else {
+                    pending.put(event.taskId(), event);
+                }
+                if (!overflow && !draining) {
+                    draining = true;
+                    schedule = true;
+                }
+            }
+            if (overflow) {
+                dropped.increment();
+                disconnect();
+            } else if (schedule) {
+                schedule();
+            }
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                close();
+            }
+        }
+
+        // Writes out whatever is pending, until nothing is. Changes arriving meanwhile are merged into the buffer.
+        private void drain() {
+            while (true) {
+                List<TaskEvent> events;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !heartbeatDue)) {
+                        draining = false;
+                        return;
+                    }
+                    events = new ArrayList<>(pending.values());
+                    pending.clear();
+                    // any event proves the connection alive just as well
+                    sendHeartbeat = heartbeatDue && events.isEmpty();
+                    heartbeatDue = false;
+                }
+                try {
+                    if (sendHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (TaskEvent event : events) {
+                        emitter.send(toSse(event));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away or the stream already ended
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void disconnect() {
+            close();
+            // on a sender, completing waits for a send still blocked on this client
+            try {
+                sender.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.taskmanagementsystem.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.example.taskmanagementsystem.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Responses to requests sent with an Idempotency-Key, kept for task.idempotency.ttl.
+// Recent ones are held in a bounded in-memory cache in front of the idempotency_keys table, which keeps
+// them across restarts and for the other instances. Requests still executing are tracked in memory only,
+// so a retry reaching the same instance waits for the first request instead of running twice.
+@Component
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, StoredResponse> cache;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${task.idempotency.cache-size:10000}") long cacheSize,
+                            @Value("${task.idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        // entries loaded from the table expire with their row, not a full ttl after loading
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String key, StoredResponse response) ->
+                        Duration.between(Instant.now(), response.expiresAt())))
+                .build();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // The stored response for the key, if its first request has completed and it has not expired
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<StoredResponse> stored = idempotencyKeyRepository.findById(key)
+                .filter(row -> row.getExpiresAt().isAfter(Instant.now()))
+                .map(StoredResponse::fromKey);
+        stored.ifPresent(response -> cache.put(key, response));
+        return stored;
+    }
+
+    // Null when the caller now holds the key and must execute the request, then complete or release it.
+    // Otherwise the execution in progress, which yields its response, or null if it ended without one.
+    public CompletableFuture<StoredResponse> claim(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    // Store the response of a claimed key and hand it to the requests waiting on it
+    public void complete(String key, StoredResponse response) {
+        cache.put(key, response);
+        try {
+            idempotencyKeyRepository.save(response.toKey(key));
+        } catch (DataAccessException e) {
+            // still replayed from the cache, only lost for other instances and after a restart
+            log.warn("Could not store the response for idempotency key {}", key, e);
+        }
+        CompletableFuture<StoredResponse> execution = inFlight.remove(key);
+        if (execution != null) {
+            execution.complete(response);
+        }
+    }
+
+    // Give up a claimed key without storing a response, the next request with it executes again
+    public void release(String key) {
+        CompletableFuture<StoredResponse> execution = inFlight.remove(key);
+        if (execution != null) {
+            execution.complete(null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.purge-interval:1h}", initialDelayString = "${task.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.taskmanagementsystem.idempotency;
+
+import org.example.taskmanagementsystem.model.IdempotencyKey;
+
+import java.time.Instant;
+
+// Snapshot of the response to the first request sent with an Idempotency-Key
+public record StoredResponse(
+        String fingerprint,
+        int status,
+        String contentType,
+        String location,
+        byte[] body,
+        Instant expiresAt
+) {
+    public static StoredResponse fromKey(IdempotencyKey key) {
+        return new StoredResponse(key.getFingerprint(), key.getStatus(), key.getContentType(), key.getLocation(),
+                key.getBody(), key.getExpiresAt());
+    }
+
+    public IdempotencyKey toKey(String id) {
+        return new IdempotencyKey(id, fingerprint, status, contentType, location, body, expiresAt);
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.taskmanagementsystem.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.BulkItemResult;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskTicketDTO;
+import org.example.taskmanagementsystem.exception.ServiceUnavailableException;
+import org.example.taskmanagementsystem.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind path for task creation (POST /api/tasks?async=true). Accepted tasks wait in a bounded queue and
+// one writer thread commits them in groups, one transaction and one JDBC batch per group instead of per task.
+// A group is closed when it is full or when its first task has waited max-wait. Tasks still queued when the
+// process dies are lost, which is why this mode is opt-in.
+@Component
+public class TaskIngestionQueue {
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestionQueue.class);
+    // how often a waiting writer checks whether it was stopped
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final TaskService taskService;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<UUID, Ticket> tickets;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final Timer commitTimer;
+    private final DistributionSummary groupSize;
+    private final Thread writer = new Thread(this::drain, "task-ingest-writer");
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private record Submission(UUID ticket, AuthenticatedUser owner, CreateTaskDTO task) {}
+
+    private record Ticket(String ownerEmail, TaskTicketDTO state) {}
+
+    public TaskIngestionQueue(TaskService taskService, MeterRegistry meterRegistry,
+                              @Value("${task.ingest.queue-capacity:10000}") int capacity,
+                              @Value("${task.ingest.max-batch:500}") int maxBatch,
+                              @Value("${task.ingest.max-wait:50ms}") Duration maxWait,
+                              @Value("${task.ingest.ticket-ttl:1h}") Duration ticketTtl) {
+        this.taskService = taskService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).build();
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        Gauge.builder("task.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks accepted for asynchronous creation and not committed yet")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("task.ingest.commit")
+                .description("Time to commit one group of queued tasks")
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("task.ingest.group.size")
+                .description("Tasks committed together in one transaction")
+                .register(meterRegistry);
+        writer.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer.start();
+    }
+
+    // Stop accepting, commit what is still queued, then let the writer exit
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    // Queue a task of the given owner, or refuse it when the queue is full
+    public TaskTicketDTO submit(CreateTaskDTO task, AuthenticatedUser owner) {
+        UUID ticket = UUID.randomUUID();
+        TaskTicketDTO pending = TaskTicketDTO.pending(ticket);
+        tickets.put(ticket, new Ticket(owner.email(), pending));
+        if (!accepting || !queue.offer(new Submission(ticket, owner, task))) {
+            tickets.invalidate(ticket);
+            throw new ServiceUnavailableException("Too many tasks waiting to be created, retry later");
+        }
+        return pending;
+    }
+
+    // Tickets are only visible to their submitter and to admins, and are forgotten after ticket-ttl
+    public Optional<TaskTicketDTO> getTicket(UUID ticket, AuthenticatedUser requester) {
+        Ticket found = tickets.getIfPresent(ticket);
+        if (found == null || (!requester.isAdmin() && !found.ownerEmail().equals(requester.email()))) {
+            return Optional.empty();
+        }
+        return Optional.of(found.state());
+    }
+
+    private void drain() {
+        List<Submission> group = new ArrayList<>(maxBatch);
+        // after stop() the writer keeps going until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (true) {
+                    queue.drainTo(group, maxBatch - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    // once stopped, commit the group without waiting for it to fill
+                    if (group.size() >= maxBatch || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Submission next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        group.add(next);
+                    }
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                commit(group);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Task ingestion writer failed on a group of {} tasks", group.size(), e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Submission> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            record(group, taskService.createTasksFor(
+                    group.stream().map(submission -> submission.owner().id()).toList(),
+                    group.stream().map(Submission::task).toList()));
+        } catch (RuntimeException e) {
+            // one bad task must not fail the rest of its group, so commit them one by one
+            log.warn("Group commit of {} tasks failed, committing them one by one", group.size(), e);
+            for (Submission submission : group) {
+                try {
+                    record(List.of(submission), taskService.createTasksFor(List.of(submission.owner().id()), List.of(submission.task())));
+                } catch (RuntimeException single) {
+                    resolve(submission, TaskTicketDTO.failed(submission.ticket(), "Task could not be created"));
+                }
+            }
+        } finally {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            groupSize.record(group.size());
+        }
+    }
+
+    private void record(List<Submission> group, List<BulkItemResult> results) {
+        for (int i = 0; i < group.size(); i++) {
+            Submission submission = group.get(i);
+            BulkItemResult result = results.get(i);
+            resolve(submission, result.error() == null
+                    ? TaskTicketDTO.created(submission.ticket(), result.id())
+                    : TaskTicketDTO.failed(submission.ticket(), result.error()));
+        }
+    }
+
+    private void resolve(Submission submission, TaskTicketDTO state) {
+        tickets.put(submission.ticket(), new Ticket(submission.owner().email(), state));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Response of a POST sent with an Idempotency-Key header, replayed when the request is retried with the same key
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        // the purge deletes by age
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKey {
+    // the client's key prefixed with the email of its user, so users cannot replay each other's responses
+    @Id
+    @Column(length = 512)
+    private String id;
+
+    // SHA-256 of the request that used the key first
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    private String location;
+
+    @Lob
+    @Column(length = 16 * 1024 * 1024)
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public IdempotencyKey() {}
+
+    public IdempotencyKey(String id, String fingerprint, int status, String contentType, String location, byte[] body, Instant expiresAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.contentType = contentType;
+        this.location = location;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -1,33 +1,50 @@
 package org.example.taskmanagementsystem.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
 
 @Entity
+@Table(name = "invalid_token", indexes = {
+        // the purge deletes by expiry
+        @Index(name = "idx_invalid_token_expires_at", columnList = "expires_at")
+})
 public class InvalidToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    private String token;
+
+    // SHA-256 of the revoked token, hex encoded. The token itself is not stored.
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // when the token expires on its own, the row is useless after that
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
 
     public InvalidToken() {};
 
-    public InvalidToken(String token) {
-        this.token = token;
+    public InvalidToken(String tokenHash, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
     }
 
     public Long getId() {
         return id;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public Instant getExpiresAt() {
+        return expiresAt;
     }
 
 }
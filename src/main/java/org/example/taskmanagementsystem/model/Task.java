@@ -1,6 +1,9 @@
 package org.example.taskmanagementsystem.model;
 
 import jakarta.persistence.*;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -8,11 +11,21 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+// UPDATE statements set only the columns that changed, instead of every column of the row
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // filtered list pages: equality on status and priority, then a range scan on id
+        @Index(name = "idx_tasks_status_priority_id", columnList = "status, priority, id"),
+        // list pages of a single owner
+        @Index(name = "idx_tasks_owner_id", columnList = "user_Id, id")
+})
 public class Task {
+    // Ids come from a pooled sequence (a table on databases without sequences), one round trip per 50 ids.
+    // Unlike IDENTITY, this leaves inserts to the flush, where Hibernate can send them as JDBC batches.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
@@ -20,13 +33,22 @@ public class Task {
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(name = "updated_at", nullable = false, updatable = false)
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: every UPDATE checks and bumps it, so a write based on an outdated read fails
+    // instead of silently overwriting a concurrent one. Also serves as the task's ETag.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     private String title;
     private String description;
-    private String status;
-    private String priority;
+    // stored as small integer codes, see the converters in model.converter
+    @Column(nullable = false)
+    private TaskStatus status;
+    @Column(nullable = false)
+    private TaskPriority priority;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_Id", nullable = false)
@@ -34,7 +56,7 @@ public class Task {
 
     public Task() {}
 
-    public Task(Long id, String title, String description, String status, String priority, LocalDateTime createdAt, LocalDateTime updatedAt, User owner) {
+    public Task(Long id, String title, String description, TaskStatus status, TaskPriority priority, LocalDateTime createdAt, LocalDateTime updatedAt, User owner) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -69,6 +91,14 @@ public class Task {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -85,19 +115,19 @@ public class Task {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
-    public String getPriority() {
+    public TaskPriority getPriority() {
         return priority;
     }
 
-    public void setPriority(String priority) {
+    public void setPriority(TaskPriority priority) {
         this.priority = priority;
     }
 
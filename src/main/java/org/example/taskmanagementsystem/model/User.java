@@ -3,40 +3,52 @@ package org.example.taskmanagementsystem.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import org.example.taskmanagementsystem.enums.UserRole;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 public class User implements UserDetails {
+    // Named so a violation of it can be told apart from other constraint violations
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    // Ids come from a pooled sequence like tasks' ids, so bulk registration can batch its inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(unique = true, nullable = false)
+    @NotBlank
+    @Email
+    @Column(nullable = false)
     private String email;
 
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
     private String username;
+    @NotBlank
     private String password;
 
+    // Tokens carry the epoch they were issued in, raising it revokes all of them at once
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch;
+
     // user & tasks relationship
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Task> tasks = new HashSet<>();
@@ -60,10 +72,8 @@ public class User implements UserDetails {
     @Override
     @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (this.role == UserRole.ADMIN) {
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_MEMBER"));
-        }
-        return List.of(new SimpleGrantedAuthority("ROLE_MEMBER"));
+        // users without a role are members
+        return (this.role != null ? this.role : UserRole.MEMBER).getAuthorities();
     }
 
     public Long getId() {
@@ -132,6 +142,16 @@ public class User implements UserDetails {
         this.role = role;
     }
 
+    @JsonIgnore
+    public long getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    @JsonIgnore
+    public void setTokenEpoch(long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,18 @@
+package org.example.taskmanagementsystem.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+
+@Converter(autoApply = true)
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Short> {
+    @Override
+    public Short convertToDatabaseColumn(TaskPriority priority) {
+        return priority != null ? priority.getCode() : null;
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Short code) {
+        return code != null ? TaskPriority.fromCode(code) : null;
+    }
+}
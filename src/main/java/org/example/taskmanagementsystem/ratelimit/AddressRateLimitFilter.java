@@ -0,0 +1,26 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// security.rate-limit.address-routes, counted per client address. Runs before SecurityFilter, so requests with
+// invalid, expired or revoked tokens are charged too, before their token is verified or looked up.
+@Component
+public class AddressRateLimitFilter extends RateLimitFilter {
+
+    public AddressRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${security.rate-limit.enabled:true}") boolean enabled,
+                                  @Value("${security.rate-limit.address-routes:}") List<String> routes) {
+        super("address", rateLimiter, objectMapper, meterRegistry, enabled, routes);
+    }
+
+    @Override
+    protected String client(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+}
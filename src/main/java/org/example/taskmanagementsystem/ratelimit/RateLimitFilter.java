@@ -0,0 +1,77 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.taskmanagementsystem.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Limits requests per route and client, the subclasses say who the client is and where in the security filter
+// chain they run. The first rule matching a request applies; every response it covers carries RateLimit-Limit,
+// -Remaining and -Reset headers and a refused request gets a 429 with Retry-After. Behind a proxy, set
+// server.forward-headers-strategy so the client address is the caller's and not the proxy's.
+public abstract class RateLimitFilter extends OncePerRequestFilter {
+    private final String scope;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<RateLimitRule> rules;
+
+    protected RateLimitFilter(String scope, RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              boolean enabled, List<String> routes) {
+        this.scope = scope;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rules = routes.stream().filter(route -> !route.isBlank()).map(RateLimitRule::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int index = 0;
+        while (index < rules.size() && !rules.get(index).matches(request)) {
+            index++;
+        }
+        if (index == rules.size()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitRule rule = rules.get(index);
+        // rules count separately, a login storm does not use up the same client's task reads
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(scope + ":" + index, client(request), rule);
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("security.rate-limit.rejected", "scope", scope, "route", rule.toString()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded, please retry later"));
+    }
+
+    protected abstract String client(HttpServletRequest request);
+}
@@ -0,0 +1,39 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+
+// `limit` requests per `period` for requests matching the method (* for any) and Ant-style path pattern,
+// written as "POST /auth/login=10/1m" in security.rate-limit.routes
+public record RateLimitRule(String method, String pattern, int limit, Duration period) {
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    public static RateLimitRule parse(String rule) {
+        try {
+            String[] routeAndRate = rule.trim().split("=", 2);
+            String[] route = routeAndRate[0].trim().split("\\s+", 2);
+            String[] rate = routeAndRate[1].trim().split("/", 2);
+            int limit = Integer.parseInt(rate[0].trim());
+            Duration period = DurationStyle.detectAndParse(rate[1].trim());
+            if (limit <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("limit and period must be positive");
+            }
+            return new RateLimitRule(route[0].toUpperCase(), route[1], limit, period);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid rate limit rule '" + rule + "', expected e.g. 'POST /auth/login=10/1m'", e);
+        }
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ("*".equals(method) || method.equals(request.getMethod())) && PATHS.match(pattern, path);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + pattern;
+    }
+}
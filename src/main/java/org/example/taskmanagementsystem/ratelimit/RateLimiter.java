@@ -0,0 +1,83 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token buckets kept as a single timestamp each (the generic cell rate algorithm): a bucket of `limit` tokens
+// refilling one token every period/limit is "full" when its theoretical arrival time (TAT) is in the past,
+// and each request moves the TAT one interval further. Taking a token is one compare-and-set, no locks and
+// no refill thread. A bucket idle for a whole period is full again, so it is dropped then and recreated
+// on the next request without changing any answer. That is the only way buckets go: dropping one still in
+// debt would give its client a full bucket, so rotating keys could reset it. Past max-buckets, which bounds
+// memory under an address scan, new clients of a rule share one overflow bucket until old buckets expire.
+@Component
+public class RateLimiter {
+    private final Cache<String, Bucket> buckets;
+    private final long maxBuckets;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public RateLimiter(@Value("${security.rate-limit.max-buckets:100000}") long maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    RateLimiter(long maxBuckets, LongSupplier nanoTime) {
+        this.maxBuckets = maxBuckets;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfter(Expiry.accessing((String key, Bucket bucket) -> bucket.period()))
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    // Take a token from the client's bucket for the rule, group names the rule and the buckets kept for it
+    public Decision tryAcquire(String group, String client, RateLimitRule rule) {
+        long now = nanoTime.getAsLong();
+        long period = rule.period().toNanos();
+        long interval = Math.max(1, period / rule.limit());
+        String key = group + ":" + client;
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            if (buckets.estimatedSize() >= maxBuckets) {
+                // the size counts expired buckets until they are cleaned up
+                buckets.cleanUp();
+                if (buckets.estimatedSize() >= maxBuckets) {
+                    key = group + ":overflow";
+                }
+            }
+            bucket = buckets.get(key, k -> new Bucket(new AtomicLong(now), rule.period()));
+        }
+        AtomicLong tat = bucket.tat();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            // how long until the bucket would be full again after this request
+            long debt = next - now;
+            if (debt > period) {
+                return new Decision(false, rule.limit(), 0, seconds(current - now), seconds(debt - period));
+            }
+            if (tat.compareAndSet(current, next)) {
+                return new Decision(true, rule.limit(), (int) ((period - debt) / interval), seconds(debt), 0);
+            }
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    private record Bucket(AtomicLong tat, Duration period) {
+    }
+
+    // resetSeconds: until the bucket is full again, retryAfterSeconds: until the next token when refused
+    public record Decision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
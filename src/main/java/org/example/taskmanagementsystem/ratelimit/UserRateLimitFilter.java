@@ -0,0 +1,33 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// security.rate-limit.routes, counted per user for authenticated requests and per client address otherwise.
+// Runs right after SecurityFilter, so the user is known.
+@Component
+public class UserRateLimitFilter extends RateLimitFilter {
+
+    public UserRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${security.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${security.rate-limit.routes:}") List<String> routes) {
+        super("user", rateLimiter, objectMapper, meterRegistry, enabled, routes);
+    }
+
+    @Override
+    protected String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -2,9 +2,20 @@ package org.example.taskmanagementsystem.repository;
 
 import org.example.taskmanagementsystem.model.InvalidToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.List;
 
 public interface InvalidTokenRepository extends JpaRepository<InvalidToken, Long> {
-    Optional<InvalidToken> findByToken(String token);
+    List<InvalidToken> findByExpiresAtAfter(Instant now);
+
+    // rows added since the last one read, by any instance
+    List<InvalidToken> findByIdGreaterThan(Long id);
+
+    @Modifying
+    @Query("DELETE FROM InvalidToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
 }
@@ -1,9 +1,97 @@
 package org.example.taskmanagementsystem.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskCountRow;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
 import org.example.taskmanagementsystem.model.Task;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    // Read queries, including the keyset pages of TaskRepositoryCustom, select the DTO columns
+    // and the owner email in one joined statement, so no task read ever lazy loads its owner.
+    // single task reads also select the version, it backs the ETag
+    @Query("SELECT new org.example.taskmanagementsystem.dto.task.GetTaskDTO(t.id, t.title, t.description, t.status, t.priority, o.email, t.version) " +
+            "FROM Task t JOIN t.owner o WHERE t.id = :id")
+    Optional<GetTaskDTO> findDtoById(@Param("id") Long id);
+
+    // The same read with the task's row locked until commit, so the state read is the one the next write replaces.
+    // The owner email comes from a subquery rather than a join, a locking read does not lock the rows of a
+    // subquery, so writes to other tasks of the same owner do not wait on the owner's row.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new org.example.taskmanagementsystem.dto.task.GetTaskDTO(t.id, t.title, t.description, t.status, t.priority, " +
+            "(SELECT o.email FROM User o WHERE o.id = t.owner.id), t.version) FROM Task t WHERE t.id = :id")
+    Optional<GetTaskDTO> findDtoByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT new org.example.taskmanagementsystem.dto.task.GetTaskDTO(t.id, t.title, t.description, t.status, t.priority, o.email) " +
+            "FROM Task t JOIN t.owner o WHERE t.id IN :ids")
+    List<GetTaskDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Writes load the task together with its owner, which covers the permission check and the response
+    @Query("SELECT t FROM Task t JOIN FETCH t.owner WHERE t.id = :id")
+    Optional<Task> findWithOwnerById(@Param("id") Long id);
+
+    // Bulk writes load each chunk of tasks with one statement
+    @Query("SELECT t FROM Task t JOIN FETCH t.owner WHERE t.id IN :ids")
+    List<Task> findAllWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Single statement writes with the permission check in the WHERE clause: the row only changes if the user
+    // owns it or is an admin, and if it is still at the version given.
+    // They return the affected row count, 0 leaves it to the caller to find out whether the task is missing,
+    // someone else's or was changed meanwhile.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.status = :status, t.priority = :priority, " +
+            "t.version = t.version + 1, t.updatedAt = :updatedAt " +
+            "WHERE t.id = :id AND t.version = :version AND (t.owner.id = :userId OR :admin = true)")
+    int updateIfPermitted(@Param("id") Long id, @Param("version") Long version,
+                          @Param("userId") Long userId, @Param("admin") boolean admin,
+                          @Param("title") String title, @Param("description") String description,
+                          @Param("status") TaskStatus status, @Param("priority") TaskPriority priority,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.version = :version AND (t.owner.id = :userId OR :admin = true)")
+    int deleteIfPermitted(@Param("id") Long id, @Param("version") Long version, @Param("userId") Long userId,
+                          @Param("admin") boolean admin);
+
+    // Full recount for the task statistics, one row per owner, status and priority
+    @Query("SELECT new org.example.taskmanagementsystem.dto.task.TaskCountRow(o.email, t.status, t.priority, COUNT(t)) " +
+            "FROM Task t JOIN t.owner o GROUP BY o.email, t.status, t.priority")
+    List<TaskCountRow> countByOwnerStatusAndPriority();
+
+    // Full export: rows are pulled from an open result set in fetch-size chunks,
+    // owners come from the same statement. Must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.owner ORDER BY t.id")
+    Stream<Task> streamAllWithOwner();
+
+    // Same cursor as above, but as unmanaged DTOs for consumers that never write back
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new org.example.taskmanagementsystem.dto.task.GetTaskDTO(t.id, t.title, t.description, t.status, t.priority, o.email) " +
+            "FROM Task t JOIN t.owner o ORDER BY t.id")
+    Stream<GetTaskDTO> streamAllDtos();
 }
@@ -0,0 +1,13 @@
+package org.example.taskmanagementsystem.repository;
+
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskCursor;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskSort;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    // Filtered, sorted keyset page of tasks, after is null for the first page
+    List<GetTaskDTO> findPage(TaskFilter filter, TaskSort sort, TaskCursor after, int limit);
+}
@@ -0,0 +1,98 @@
+package org.example.taskmanagementsystem.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskCursor;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskSort;
+import org.example.taskmanagementsystem.model.Task;
+import org.example.taskmanagementsystem.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GetTaskDTO> findPage(TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GetTaskDTO> query = cb.createQuery(GetTaskDTO.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> owner = task.join("owner");
+
+        query.select(cb.construct(GetTaskDTO.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("status"),
+                task.get("priority"),
+                owner.get("email")));
+
+        // equality filters first, they line up with the (status, priority, id) and (user_Id, id) indexes
+        List<Predicate> where = new ArrayList<>();
+        if (filter.status() != null) {
+            where.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            where.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        if (filter.ownerEmail() != null) {
+            where.add(cb.equal(owner.get("email"), filter.ownerEmail()));
+        }
+
+        Path<Long> id = task.get("id");
+        Expression<? extends Comparable<?>> key = sortKey(task, owner, sort.field());
+
+        // seek past the last row of the previous page: (key, id) > (lastKey, lastId)
+        if (after != null) {
+            Predicate idAfter = sort.descending() ? cb.lessThan(id, after.lastId()) : cb.greaterThan(id, after.lastId());
+            if (key == null) {
+                where.add(idAfter);
+            } else {
+                Comparable<?> lastKey = sort.field().parseValue(after.lastValue());
+                Predicate keyAfter = isAfter(cb, key, lastKey, sort.descending());
+                where.add(cb.or(keyAfter, cb.and(cb.equal(key, lastKey), idAfter)));
+            }
+        }
+        query.where(where.toArray(Predicate[]::new));
+
+        List<Order> orderBy = new ArrayList<>();
+        if (key != null) {
+            orderBy.add(sort.descending() ? cb.desc(key) : cb.asc(key));
+        }
+        orderBy.add(sort.descending() ? cb.desc(id) : cb.asc(id));
+        query.orderBy(orderBy);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Sort expression for the non-id fields. Status and priority compare by their stored codes,
+    // and are never null, so the plain columns can serve the order from the index.
+    private static Expression<? extends Comparable<?>> sortKey(Root<Task> task, Join<Task, User> owner, TaskSort.Field field) {
+        return switch (field) {
+            case ID -> null;
+            case STATUS -> task.get("status");
+            case PRIORITY -> task.get("priority");
+            case OWNER_EMAIL -> owner.get("email");
+        };
+    }
+
+    // key > value, or key < value when descending; the key and the value always have the same type
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate isAfter(CriteriaBuilder cb, Expression key, Comparable value, boolean descending) {
+        return descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.taskmanagementsystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Inverted index over task text with BM25 ranking.
+// Every indexed version of a task gets a fresh, increasing doc number, so postings lists are
+// append only: an update deletes the old doc and adds a new one, and deleted docs are dropped
+// once they make up half of the index. Not thread safe, callers guard it with a lock.
+public class InvertedIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final LongIntMap docByTaskId = new LongIntMap();
+    private final BitSet deleted = new BitSet();
+    private long[] taskIds = new long[16];
+    private int[] docLengths = new int[16];
+    private int nextDoc;
+    private long liveLength;
+
+    // Index the text of a task, replacing whatever was indexed for it before
+    public void add(long taskId, String text) {
+        remove(taskId);
+
+        List<String> tokens = Tokenizer.tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int doc = nextDoc++;
+        if (doc == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        taskIds[doc] = taskId;
+        docLengths[doc] = tokens.size();
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingsList()).add(doc, entry.getValue());
+        }
+        docByTaskId.put(taskId, doc);
+        liveLength += tokens.size();
+    }
+
+    public boolean remove(long taskId) {
+        int doc = docByTaskId.remove(taskId);
+        if (doc < 0) {
+            return false;
+        }
+        deleted.set(doc);
+        liveLength -= docLengths[doc];
+
+        int deletedDocs = nextDoc - docByTaskId.size();
+        if (deletedDocs >= MIN_DELETED_FOR_COMPACTION && deletedDocs > docByTaskId.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    // Number of indexed tasks
+    public int size() {
+        return docByTaskId.size();
+    }
+
+    // Ids of the tasks containing every term of the query, best BM25 score first
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit < 1 || size() == 0) {
+            return List.of();
+        }
+
+        List<PostingsList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingsList list = postings.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        // the rarest term leads the intersection, the others only skip ahead to its docs
+        lists.sort(Comparator.comparingInt(PostingsList::size));
+
+        int liveDocs = size();
+        float averageLength = Math.max(1f, (float) liveLength / liveDocs);
+        PostingsList.Cursor[] cursors = new PostingsList.Cursor[lists.size()];
+        float[] idf = new float[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = lists.get(i).cursor();
+            int documentFrequency = Math.min(lists.get(i).size(), liveDocs);
+            idf[i] = (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        // min-heap of the best hits so far, the weakest one on top
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1);
+        PostingsList.Cursor lead = cursors[0];
+        int doc = lead.nextDoc();
+        while (doc != PostingsList.NO_MORE_DOCS) {
+            int other = doc;
+            for (int i = 1; i < cursors.length && other == doc; i++) {
+                other = cursors[i].advance(doc);
+            }
+            if (other != doc) {
+                doc = other == PostingsList.NO_MORE_DOCS ? other : lead.advance(other);
+                continue;
+            }
+
+            if (!deleted.get(doc)) {
+                float score = score(cursors, idf, docLengths[doc] / averageLength);
+                if (top.size() < limit) {
+                    top.add(new ScoredDoc(doc, score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new ScoredDoc(doc, score));
+                }
+            }
+            doc = lead.nextDoc();
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = taskIds[top.poll().doc()];
+        }
+        return Arrays.asList(ranked);
+    }
+
+    private static float score(PostingsList.Cursor[] cursors, float[] idf, float relativeLength) {
+        float score = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            int freq = cursors[i].freq();
+            score += idf[i] * (freq * (K1 + 1)) / (freq + K1 * (1 - B + B * relativeLength));
+        }
+        return score;
+    }
+
+    // Rewrite every postings list without the deleted docs and renumber the survivors densely
+    private void compact() {
+        int[] docMap = new int[nextDoc];
+        int liveDocs = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            docMap[doc] = deleted.get(doc) ? -1 : liveDocs++;
+        }
+
+        long[] compactedTaskIds = new long[Math.max(16, liveDocs)];
+        int[] compactedLengths = new int[compactedTaskIds.length];
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docMap[doc] >= 0) {
+                compactedTaskIds[docMap[doc]] = taskIds[doc];
+                compactedLengths[docMap[doc]] = docLengths[doc];
+                docByTaskId.put(taskIds[doc], docMap[doc]);
+            }
+        }
+
+        postings.replaceAll((term, list) -> list.compact(docMap));
+        postings.values().removeIf(list -> list.size() == 0);
+        taskIds = compactedTaskIds;
+        docLengths = compactedLengths;
+        deleted.clear();
+        nextDoc = liveDocs;
+    }
+
+    private record ScoredDoc(int doc, float score) implements Comparable<ScoredDoc> {
+        // weaker hits first, on equal scores the older doc counts as weaker
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(doc, other.doc);
+        }
+    }
+}
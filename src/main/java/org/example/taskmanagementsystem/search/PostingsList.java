@@ -0,0 +1,144 @@
+package org.example.taskmanagementsystem.search;
+
+import java.util.Arrays;
+
+// Doc numbers and term frequencies of one term, stored as varint encoded (doc delta, freq) pairs.
+// Doc numbers must be appended in increasing order, which keeps the deltas small.
+// Every SKIP_INTERVAL postings a skip entry remembers where the next block starts, so
+// intersections can jump over whole blocks instead of decoding them.
+final class PostingsList {
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    private static final int SKIP_INTERVAL = 128;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    // skip entry k: last doc before block k + 1 and the byte offset where that block starts
+    private int[] skipDocs = new int[0];
+    private int[] skipPositions = new int[0];
+    private int skipCount;
+
+    void add(int doc, int freq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc " + doc + " added after " + lastDoc);
+        }
+        if (size > 0 && size % SKIP_INTERVAL == 0) {
+            if (skipCount == skipDocs.length) {
+                skipDocs = Arrays.copyOf(skipDocs, Math.max(4, skipCount * 2));
+                skipPositions = Arrays.copyOf(skipPositions, skipDocs.length);
+            }
+            skipDocs[skipCount] = lastDoc;
+            skipPositions[skipCount] = length;
+            skipCount++;
+        }
+        writeVarInt(doc - lastDoc);
+        writeVarInt(freq);
+        lastDoc = doc;
+        size++;
+    }
+
+    // Number of postings, including those of deleted docs that were not compacted away yet
+    int size() {
+        return size;
+    }
+
+    int byteSize() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Copy without the docs mapped to -1, renumbering the others through the doc map
+    PostingsList compact(int[] docMap) {
+        PostingsList compacted = new PostingsList();
+        Cursor cursor = cursor();
+        for (int doc = cursor.nextDoc(); doc != NO_MORE_DOCS; doc = cursor.nextDoc()) {
+            if (docMap[doc] >= 0) {
+                compacted.add(docMap[doc], cursor.freq());
+            }
+        }
+        return compacted;
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    // Forward only iterator over the postings
+    final class Cursor {
+        private final int total = size;
+        private final int skips = skipCount;
+        private int position;
+        private int remaining = total;
+        private int nextSkip;
+        private int doc = -1;
+        private int freq;
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        int nextDoc() {
+            if (remaining == 0) {
+                return doc = NO_MORE_DOCS;
+            }
+            remaining--;
+            doc += readVarInt();
+            freq = readVarInt();
+            return doc;
+        }
+
+        // Move to the first doc >= target
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+
+            // jump to the last block that still starts before the target
+            int consumed = total - remaining;
+            while (nextSkip < skips && (nextSkip + 1) * SKIP_INTERVAL <= consumed) {
+                nextSkip++;
+            }
+            int jump = -1;
+            while (nextSkip < skips && skipDocs[nextSkip] < target) {
+                jump = nextSkip++;
+            }
+            if (jump >= 0) {
+                doc = skipDocs[jump];
+                position = skipPositions[jump];
+                remaining = total - (jump + 1) * SKIP_INTERVAL;
+            }
+
+            while (doc < target) {
+                nextDoc();
+            }
+            return doc;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.taskmanagementsystem.search;
+
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory full text index over task titles and descriptions.
+// Built from the tasks table at startup, then kept in sync from committed TaskEvents.
+@Component
+public class TaskSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private InvertedIndex index = new InvertedIndex();
+    // events committed while a rebuild reads the table, replayed onto the rebuilt index before it goes live
+    private List<TaskEvent> eventsDuringRebuild;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    private static String textOf(GetTaskDTO task) {
+        return Objects.toString(task.getTitle(), "") + " " + Objects.toString(task.getDescription(), "");
+    }
+
+    private static void apply(InvertedIndex index, TaskEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> index.add(event.taskId(), textOf(event.task()));
+            case DELETED -> index.remove(event.taskId());
+        }
+    }
+
+    // Rebuild from the table; searches keep using the old index until the new one is complete
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            eventsDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        boolean complete = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<GetTaskDTO> tasks = taskRepository.streamAllDtos()) {
+                    tasks.forEach(task -> rebuilt.add(task.getId(), textOf(task)));
+                }
+            });
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // index updates are idempotent, so replaying events the table read already saw is harmless
+                if (complete) {
+                    eventsDuringRebuild.forEach(event -> apply(rebuilt, event));
+                    index = rebuilt;
+                }
+                eventsDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Search index rebuilt with {} tasks in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (eventsDuringRebuild != null) {
+                eventsDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the tasks mentioning every word of the query, best match first
+    public List<Long> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package org.example.taskmanagementsystem.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.taskmanagementsystem.config.auth.BoundedPasswordEncoder;
+import org.example.taskmanagementsystem.config.auth.TokenEpochs;
+import org.example.taskmanagementsystem.config.auth.TokenProvider;
+import org.example.taskmanagementsystem.config.auth.TokenRevocationList;
+import org.example.taskmanagementsystem.dto.auth.BulkUserResult;
+import org.example.taskmanagementsystem.exception.BadRequestException;
 import org.example.taskmanagementsystem.exception.DuplicateEmailException;
-import org.example.taskmanagementsystem.model.InvalidToken;
 import org.example.taskmanagementsystem.model.User;
-import org.example.taskmanagementsystem.repository.InvalidTokenRepository;
 import org.example.taskmanagementsystem.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AuthService {
@@ -18,10 +33,31 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private InvalidTokenRepository invalidTokenRepository;
+    private TokenRevocationList tokenRevocationList;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private TokenEpochs tokenEpochs;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${security.bulk-register.max-items:10000}")
+    private int maxBulkUsers;
 
     public void registerUser(User user) {
         // Check if user already exists
@@ -35,14 +71,131 @@ public class AuthService {
         userRepository.save(user);
     }
 
+    // Register many users at once. Passwords are hashed in parallel on the password pool, and users are inserted
+    // a JDBC batch at a time, each batch in its own transaction. Taken emails are left to the unique constraint
+    // instead of being looked up first: a batch that violates it is retried one user at a time to find them.
+    public List<BulkUserResult> registerUsers(List<User> users) {
+        if (users == null || users.isEmpty()) {
+            throw new BadRequestException("Bulk request must not be empty");
+        }
+        if (users.size() > maxBulkUsers) {
+            throw new BadRequestException("Bulk requests are limited to " + maxBulkUsers + " users");
+        }
+
+        BulkUserResult[] results = new BulkUserResult[users.size()];
+        Set<String> emails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(batchSize);
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String error = validationError(user);
+            if (error != null) {
+                results[i] = BulkUserResult.failure(i, 400, user != null ? user.getEmail() : null, error);
+            } else if (!emails.add(user.getEmail())) {
+                results[i] = BulkUserResult.failure(i, 403, user.getEmail(), "User already exists");
+            } else {
+                pending.add(i);
+                if (pending.size() == batchSize) {
+                    insertBatch(users, pending, results);
+                }
+            }
+        }
+        insertBatch(users, pending, results);
+        return Arrays.asList(results);
+    }
+
+    // The same constraints POST /auth/register checks with @Valid
+    private String validationError(User user) {
+        if (user == null) {
+            return "Missing user";
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<User> violation = violations.iterator().next();
+        return "Invalid value for field: " + violation.getPropertyPath() + " (" + violation.getMessage() + ")";
+    }
+
+    private void insertBatch(List<User> users, List<Integer> pending, BulkUserResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> hashes = passwordEncoder.encodeAll(pending.stream().map(i -> users.get(i).getPassword()).toList());
+        List<User> batch = new ArrayList<>(pending.size());
+        for (int j = 0; j < pending.size(); j++) {
+            batch.add(newUser(users.get(pending.get(j)), hashes.get(j)));
+        }
+
+        if (insert(batch) == null) {
+            for (int j = 0; j < pending.size(); j++) {
+                results[pending.get(j)] = BulkUserResult.created(pending.get(j), batch.get(j).getId(), batch.get(j).getEmail());
+            }
+        } else {
+            for (int j = 0; j < pending.size(); j++) {
+                int index = pending.get(j);
+                User user = newUser(users.get(index), hashes.get(j));
+                DataIntegrityViolationException violation = insert(List.of(user));
+                results[index] = violation == null
+                        ? BulkUserResult.created(index, user.getId(), user.getEmail())
+                        : rejected(index, user, violation);
+            }
+        }
+        pending.clear();
+    }
+
+    // A new entity for every attempt: ids given by the client are ignored, and ids assigned in a rolled back
+    // attempt are not reused
+    private static User newUser(User user, String encodedPassword) {
+        return new User(user.getUsername(), user.getEmail(), encodedPassword, user.getRole());
+    }
+
+    // Insert the users in one transaction, null if they were inserted, else the violation that rolled it back
+    private DataIntegrityViolationException insert(List<User> users) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+            });
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            return e;
+        } finally {
+            // the request's persistence context would otherwise keep every user registered so far
+            entityManager.clear();
+        }
+    }
+
+    // Only the unique email constraint means the user exists, anything else the database refused is a bad row
+    private static BulkUserResult rejected(int index, User user, DataIntegrityViolationException violation) {
+        String constraint = constraintName(violation);
+        if (constraint != null && constraint.toLowerCase().contains(User.EMAIL_CONSTRAINT)) {
+            return BulkUserResult.failure(index, 403, user.getEmail(), "User already exists");
+        }
+        return BulkUserResult.failure(index, 400, user.getEmail(),
+                constraint != null ? "Rejected by the database: " + constraint : "Rejected by the database");
+    }
+
+    // Databases report the name with their own case and qualifiers, e.g. upper-cased and schema-qualified on H2
+    private static String constraintName(DataIntegrityViolationException violation) {
+        for (Throwable cause = violation; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation) {
+                return constraintViolation.getConstraintName();
+            }
+        }
+        return null;
+    }
+
     //  Blacklist token on logout
     public boolean invalidateToken(String token) {
-        if (token != null && invalidTokenRepository.findByToken(token).isEmpty()) {
-            InvalidToken invalidToken = new InvalidToken(token);
-            invalidTokenRepository.save(invalidToken);
-            return true;
+        if (token == null) {
+            return false;
         }
+        // kept only until the token would have expired anyway
+        return tokenRevocationList.revoke(token, tokenProvider.validateToken(token).expiresAt());
+    }
 
-        return false;
+    // Invalidate every token issued to the user so far, without a row per token
+    public void invalidateAllTokens(Long userId) {
+        tokenEpochs.advance(userId);
     }
 }
\ No newline at end of file
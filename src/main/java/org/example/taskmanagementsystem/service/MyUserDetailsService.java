@@ -3,13 +3,15 @@ package org.example.taskmanagementsystem.service;
 import org.example.taskmanagementsystem.model.User;
 import org.example.taskmanagementsystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
 
@@ -18,4 +20,12 @@ public class MyUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
+
+    // Called after a successful login when the stored hash has another cost than configured
+    @Override
+    public User updatePassword(UserDetails user, String newPassword) {
+        User stored = (User) user;
+        stored.setPassword(newPassword);
+        return userRepository.save(stored);
+    }
 }
@@ -1,101 +1,594 @@
 package org.example.taskmanagementsystem.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.taskmanagementsystem.cache.TaskCache;
+import org.example.taskmanagementsystem.cache.UserCache;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.BulkItemResult;
 import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
 import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
-import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.dto.task.TaskCursor;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskPage;
+import org.example.taskmanagementsystem.dto.task.TaskSort;
+import org.example.taskmanagementsystem.dto.task.TaskStatsDTO;
+import org.example.taskmanagementsystem.dto.task.UpdateTaskItemDTO;
+import org.example.taskmanagementsystem.event.TaskEvent;
 import org.example.taskmanagementsystem.exception.AccessDeniedException;
+import org.example.taskmanagementsystem.exception.BadRequestException;
+import org.example.taskmanagementsystem.exception.PreconditionFailedException;
 import org.example.taskmanagementsystem.exception.ResourceNotFoundException;
 import org.example.taskmanagementsystem.model.Task;
 import org.example.taskmanagementsystem.model.User;
 import org.example.taskmanagementsystem.repository.TaskRepository;
 import org.example.taskmanagementsystem.repository.UserRepository;
+import org.example.taskmanagementsystem.search.TaskSearchIndex;
+import org.example.taskmanagementsystem.stats.TaskStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
+    // Exported entities are detached in chunks so the persistence context never grows with the table
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final UserCache userCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatistics taskStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int batchSize;
+    private final int maxBulkItems;
+    private final int maxUpdateAttempts;
+    private final TransactionTemplate writeTransaction;
 
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, TaskCache taskCache, UserCache userCache,
+                       TaskSearchIndex taskSearchIndex, TaskStatistics taskStatistics,
+                       ApplicationEventPublisher eventPublisher,
+                       EntityManager entityManager, ObjectMapper objectMapper, Validator validator,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${task.page.default-size:20}") int defaultPageSize,
+                       @Value("${task.page.max-size:100}") int maxPageSize,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                       @Value("${task.bulk.max-items:1000}") int maxBulkItems,
+                       @Value("${task.update.max-attempts:3}") int maxUpdateAttempts) {
         this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.userCache = userCache;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatistics = taskStatistics;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.batchSize = batchSize;
+        this.maxBulkItems = maxBulkItems;
+        this.maxUpdateAttempts = maxUpdateAttempts;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
-    private static User getAuthenticatedUser() {
-        return (User) SecurityContextHolder.getContext()
+    private static AuthenticatedUser getAuthenticatedUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext()
                 .getAuthentication()
                 .getPrincipal();
     }
 
     private static boolean isActionPermitted(Task task) {
-        User currentUser = getAuthenticatedUser();
+        return isActionPermitted(task.getOwner().getEmail());
+    }
+
+    private static boolean isActionPermitted(String ownerEmail) {
+        AuthenticatedUser currentUser = getAuthenticatedUser();
 
         // Check permissions (Only Admin and Task Owners are permitted)
         if (currentUser == null) {
             throw new AccessDeniedException("User not logged in");
-        } else if ( currentUser.getRole() == UserRole.ADMIN) {
+        } else if ( currentUser.isAdmin()) {
             return true;
-        } else return currentUser.getEmail().equals(task.getOwner().getEmail());
+        } else return currentUser.email().equals(ownerEmail);
+    }
+
+    // Read the task with its row locked, for a write whose cached guess of the task's state did not hold:
+    // 404, 403 or 412, in that order, or exactly the state the write will replace
+    private GetTaskDTO findWritableTask(Long id, String ifMatch) {
+        GetTaskDTO task = taskRepository.findDtoByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id: " + id + " not found"));
+        if (!isActionPermitted(task.getOwnerEmail())) {
+            throw new AccessDeniedException("Action not permitted");
+        }
+        if (ifMatch != null && !matchesETag(ifMatch, task.getETag())) {
+            throw new PreconditionFailedException("Task with id: " + id + " has been modified");
+        }
+        return task;
+    }
+
+    // If-Match uses the strong comparison: weak tags never match, "*" matches any existing task
+    private static boolean matchesETag(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First constraint violation of a bulk entry, or null when it is valid
+    private String validationError(Object item) {
+        if (item == null) {
+            return "Missing task";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<Object> violation = violations.iterator().next();
+        return "Invalid value for field: " + violation.getPropertyPath() + " (" + violation.getMessage() + ")";
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request must not be empty");
+        }
+        if (items.size() > maxBulkItems) {
+            throw new BadRequestException("Bulk requests are limited to " + maxBulkItems + " tasks");
+        }
+    }
+
+    // Requested page sizes are capped server side so a single call can never load the whole table
+    private int resolvePageSize(Integer size) {
+        int requested = size != null ? size : defaultPageSize;
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    // Get a filtered page of tasks in the requested order, starting after the given cursor
+    public TaskPage getTasks(TaskFilter filter, String sort, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        TaskSort taskSort = TaskSort.parse(sort);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+        if (after != null && !after.sort().equals(taskSort)) {
+            throw new BadRequestException("Cursor does not match sort: " + taskSort);
+        }
+
+        // fetch one extra row to find out whether another page exists
+        List<GetTaskDTO> rows = taskRepository.findPage(filter, taskSort, after, pageSize + 1);
+        List<GetTaskDTO> tasks = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            GetTaskDTO last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(taskSort, taskSort.valueOf(last), last.getId()).encode();
+        }
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    // Full text search over title and description, best matches first
+    public List<GetTaskDTO> searchTasks(String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+
+        List<Long> ids = taskSearchIndex.search(query, resolvePageSize(size));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GetTaskDTO> tasksById = taskRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(GetTaskDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    // Get all tasks
-    public List<GetTaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(GetTaskDTO::fromTask)
-                .collect(Collectors.toList());
+    // Task counts by status and priority, for one owner or for everyone
+    public TaskStatsDTO getTaskStats(String ownerEmail) {
+        return ownerEmail == null ? taskStatistics.global() : taskStatistics.forOwner(ownerEmail);
+    }
+
+    // Write every task to the stream as newline delimited JSON, one row at a time
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(GetTaskDTO.class);
+        try (Stream<Task> tasks = taskRepository.streamAllWithOwner()) {
+            Iterator<Task> iterator = tasks.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(GetTaskDTO.fromTask(iterator.next())));
+                out.write('\n');
+
+                if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
     }
 
     // Get task by id
     public Optional<GetTaskDTO> getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        GetTaskDTO task = taskCache.get(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id: " + id + " not found"));
-        return Optional.of(GetTaskDTO.fromTask(task));
+        return Optional.of(task);
     }
 
     // Create a new task
+    @Transactional
     public GetTaskDTO createTask(CreateTaskDTO taskDto) {
-        User currentUser = getAuthenticatedUser();
         Task task = new Task();
         task.setTitle(taskDto.getTitle());
         task.setDescription(taskDto.getDescription());
         task.setStatus(taskDto.getStatus());
         task.setPriority(taskDto.getPriority());
-        task.setOwner(currentUser);
+        task.setOwner(loadOwner(getAuthenticatedUser().id()));
 
         Task savedTask = taskRepository.save(task);
-        return GetTaskDTO.fromTask(savedTask);
+        GetTaskDTO createdTask = GetTaskDTO.fromTask(savedTask);
+        eventPublisher.publishEvent(TaskEvent.created(createdTask));
+        return createdTask;
+    }
+
+    // Create many tasks in one transaction. Entries are persisted a batch at a time, then flushed together
+    // so the inserts go out as one JDBC batch, and detached so the persistence context stays small.
+    @Transactional
+    public List<BulkItemResult> createTasks(List<CreateTaskDTO> taskDtos) {
+        checkBulkSize(taskDtos);
+        return insertTasks(Collections.nCopies(taskDtos.size(), getAuthenticatedUser().id()), taskDtos);
+    }
+
+    // Create tasks on behalf of their owners, one owner per entry. Used by the ingestion queue's writer,
+    // which commits tasks submitted by many users together and has no authenticated user of its own.
+    @Transactional
+    public List<BulkItemResult> createTasksFor(List<Long> ownerIds, List<CreateTaskDTO> taskDtos) {
+        return insertTasks(ownerIds, taskDtos);
+    }
+
+    // The owner of a new task, from the user cache: the principal only carries the user's id
+    private User loadOwner(Long userId) {
+        return userCache.get(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private List<BulkItemResult> insertTasks(List<Long> ownerIds, List<CreateTaskDTO> taskDtos) {
+        Map<Long, User> owners = new HashMap<>();
+        BulkItemResult[] results = new BulkItemResult[taskDtos.size()];
+        List<Integer> pending = new ArrayList<>(batchSize);
+        List<Task> pendingTasks = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < taskDtos.size(); i++) {
+            CreateTaskDTO taskDto = taskDtos.get(i);
+            String error = validationError(taskDto);
+            if (error != null) {
+                results[i] = BulkItemResult.failure(i, 400, null, error);
+                continue;
+            }
+
+            Task task = new Task();
+            task.setTitle(taskDto.getTitle());
+            task.setDescription(taskDto.getDescription());
+            task.setStatus(taskDto.getStatus());
+            task.setPriority(taskDto.getPriority());
+            task.setOwner(owners.computeIfAbsent(ownerIds.get(i), this::loadOwner));
+            pending.add(i);
+            pendingTasks.add(taskRepository.save(task));
+            if (pending.size() == batchSize) {
+                flushCreated(pending, pendingTasks, results);
+            }
+        }
+        flushCreated(pending, pendingTasks, results);
+        return Arrays.asList(results);
+    }
+
+    private void flushCreated(List<Integer> pending, List<Task> pendingTasks, BulkItemResult[] results) {
+        entityManager.flush();
+        for (int j = 0; j < pending.size(); j++) {
+            GetTaskDTO createdTask = GetTaskDTO.fromTask(pendingTasks.get(j));
+            results[pending.get(j)] = BulkItemResult.success(pending.get(j), 201, createdTask);
+            eventPublisher.publishEvent(TaskEvent.created(createdTask));
+        }
+        entityManager.clear();
+        pending.clear();
+        pendingTasks.clear();
+    }
+
+    // Update many tasks in one transaction. Each batch is loaded with one query, checked entry by entry,
+    // and flushed as one JDBC batch of updates.
+    @Transactional
+    public List<BulkItemResult> updateTasks(List<UpdateTaskItemDTO> items) {
+        checkBulkSize(items);
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+
+        for (int start = 0; start < items.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, items.size());
+            Map<Long, Task> tasksById = taskRepository.findAllWithOwnerByIdIn(items.subList(start, end).stream()
+                            .filter(item -> item != null && item.getId() != null)
+                            .map(UpdateTaskItemDTO::getId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            List<Integer> updated = new ArrayList<>();
+            List<GetTaskDTO> previousStates = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                UpdateTaskItemDTO item = items.get(i);
+                String error = validationError(item);
+                if (error != null) {
+                    results[i] = BulkItemResult.failure(i, 400, item != null ? item.getId() : null, error);
+                    continue;
+                }
+                Task task = tasksById.get(item.getId());
+                if (task == null) {
+                    results[i] = BulkItemResult.failure(i, 404, item.getId(), "Task with id: " + item.getId() + " not found");
+                    continue;
+                }
+                if (!isActionPermitted(task)) {
+                    results[i] = BulkItemResult.failure(i, 403, item.getId(), "Action not permitted");
+                    continue;
+                }
+
+                previousStates.add(GetTaskDTO.fromTask(task));
+                task.setTitle(item.getTitle());
+                task.setDescription(item.getDescription());
+                task.setStatus(item.getStatus());
+                task.setPriority(item.getPriority());
+                updated.add(i);
+            }
+
+            entityManager.flush();
+            for (int j = 0; j < updated.size(); j++) {
+                int index = updated.get(j);
+                GetTaskDTO result = GetTaskDTO.fromTask(tasksById.get(items.get(index).getId()));
+                results[index] = BulkItemResult.success(index, 200, result);
+                eventPublisher.publishEvent(TaskEvent.updated(previousStates.get(j), result));
+            }
+            entityManager.clear();
+        }
+        return Arrays.asList(results);
     }
 
-    // Update an existing task
-    public GetTaskDTO updateTask(Long id, CreateTaskDTO taskDetailsDto) {
-        Task existingTask = taskRepository.findById(id)
+    // Delete many tasks in one transaction, with the same per entry checks as a single delete
+    @Transactional
+    public List<BulkItemResult> deleteTasks(List<Long> ids) {
+        checkBulkSize(ids);
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, ids.size());
+            Map<Long, Task> tasksById = taskRepository.findAllWithOwnerByIdIn(ids.subList(start, end).stream()
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            List<GetTaskDTO> deleted = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                Long id = ids.get(i);
+                Task task = id != null ? tasksById.remove(id) : null;
+                if (task == null) {
+                    results[i] = BulkItemResult.failure(i, 404, id, "Task with id: " + id + " not found");
+                    continue;
+                }
+                if (!isActionPermitted(task)) {
+                    results[i] = BulkItemResult.failure(i, 403, id, "Action not permitted");
+                    continue;
+                }
+                deleted.add(GetTaskDTO.fromTask(task));
+                taskRepository.delete(task);
+                results[i] = BulkItemResult.deleted(i, id);
+            }
+
+            entityManager.flush();
+            deleted.forEach(task -> eventPublisher.publishEvent(TaskEvent.deleted(task)));
+            entityManager.clear();
+        }
+        return Arrays.asList(results);
+    }
+
+    // Load a task to modify, checking permissions and the If-Match header when one is given
+    private Task findTaskForUpdate(Long id, String ifMatch) {
+        Task existingTask = taskRepository.findWithOwnerById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id: " + id + " not found"));
 
         boolean isPermitted = isActionPermitted(existingTask);
         if (!isPermitted) {
             throw new AccessDeniedException("Action not  permitted");
         }
+        if (ifMatch != null && !matchesETag(ifMatch, GetTaskDTO.fromTask(existingTask).getETag())) {
+            throw new PreconditionFailedException("Task with id: " + id + " has been modified");
+        }
+        return existingTask;
+    }
 
-        existingTask.setTitle(taskDetailsDto.getTitle());
-        existingTask.setDescription(taskDetailsDto.getDescription());
-        existingTask.setStatus(taskDetailsDto.getStatus());
-        existingTask.setPriority(taskDetailsDto.getPriority());
-
-        Task updatedTask = taskRepository.save(existingTask);
-        return GetTaskDTO.fromTask(updatedTask);
+    // Write the changed task, a task without changes is left as it is and keeps its ETag.
+    // No lock is held between read and write: the UPDATE fails if the version read is no longer current.
+    private GetTaskDTO saveUpdate(Task existingTask, GetTaskDTO previous, String ifMatch) {
+        Task updatedTask;
+        try {
+            // flush so the new version, and with it the ETag of the response, is generated now
+            updatedTask = taskRepository.saveAndFlush(existingTask);
+        } catch (OptimisticLockingFailureException e) {
+            // a conditional write that loses the race failed its precondition, the If-Match tag is outdated now
+            if (ifMatch != null) {
+                throw new PreconditionFailedException("Task with id: " + existingTask.getId() + " has been modified");
+            }
+            throw e;
+        }
+        GetTaskDTO result = GetTaskDTO.fromTask(updatedTask);
+        eventPublisher.publishEvent(TaskEvent.updated(previous, result));
+        return result;
     }
 
-    // Delete a task by id
-    public void deleteTask(Long id) {
-            Task task = taskRepository.findById(id)
-                    .orElseThrow(() -> new ResourceNotFoundException("Task with id: " + id + " not found"));
-            if (isActionPermitted(task)) {
-                taskRepository.delete(task);
+    // RFC 7386: members of the patch replace those of the target, null removes them, objects merge recursively
+    private static void mergePatch(ObjectNode target, JsonNode patch) {
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            JsonNode value = field.getValue();
+            JsonNode existing = target.get(field.getKey());
+            if (value.isNull()) {
+                target.remove(field.getKey());
+            } else if (value.isObject() && existing instanceof ObjectNode existingObject) {
+                mergePatch(existingObject, value);
             } else {
-                throw new AccessDeniedException("Action not permitted");
+                target.set(field.getKey(), value);
+            }
+        }
+    }
+
+    // Update an existing task, only if it still matches the If-Match header when one is given.
+    // The write is a single UPDATE that checks ownership itself and is guarded by the version the task is believed
+    // to be at, so the TaskEvent always carries the exact state replaced. When the task is cached at its current
+    // version, the UPDATE is the only statement. Otherwise the task is read with its row locked first, one read by
+    // primary key that also tells 404, 403 and 412 apart, and the UPDATE replaces exactly what was read.
+    @Transactional
+    public GetTaskDTO updateTask(Long id, CreateTaskDTO taskDetailsDto, String ifMatch) {
+        AuthenticatedUser currentUser = getAuthenticatedUser();
+        GetTaskDTO cached = taskCache.peek(id);
+        if (cached != null && (ifMatch == null || matchesETag(ifMatch, cached.getETag()))
+                && update(currentUser, id, cached.getVersion(), taskDetailsDto)) {
+            return updated(cached, taskDetailsDto);
+        }
+
+        GetTaskDTO previous = findWritableTask(id, ifMatch);
+        if (!update(currentUser, id, previous.getVersion(), taskDetailsDto)) {
+            // the row is locked and the user may write it, nothing else can refuse the UPDATE
+            throw new IllegalStateException("Update of locked task " + id + " matched no row");
+        }
+        return updated(previous, taskDetailsDto);
+    }
+
+    private boolean update(AuthenticatedUser currentUser, Long id, Long version, CreateTaskDTO taskDetailsDto) {
+        return taskRepository.updateIfPermitted(id, version, currentUser.id(), currentUser.isAdmin(),
+                taskDetailsDto.getTitle(), taskDetailsDto.getDescription(),
+                taskDetailsDto.getStatus(), taskDetailsDto.getPriority(), LocalDateTime.now()) == 1;
+    }
+
+    private GetTaskDTO updated(GetTaskDTO previous, CreateTaskDTO taskDetailsDto) {
+        GetTaskDTO result = new GetTaskDTO(previous.getId(), taskDetailsDto.getTitle(), taskDetailsDto.getDescription(),
+                taskDetailsDto.getStatus(), taskDetailsDto.getPriority(), previous.getOwnerEmail(), previous.getVersion() + 1);
+        eventPublisher.publishEvent(TaskEvent.updated(previous, result));
+        return result;
+    }
+
+    // Partially update a task with a JSON Merge Patch, e.g. {"status": "DONE"} or {"description": null}.
+    // Only fields whose value changes are dirty, and Task uses dynamic updates, so the UPDATE sets just those columns.
+    // A patch without If-Match that loses a race with another write is applied again to the newer version:
+    // it only sets the fields it names, so applying it again keeps the other write's changes to the remaining fields.
+    public GetTaskDTO patchTask(Long id, JsonNode patch, String ifMatch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        // each attempt needs a transaction of its own, inside a caller's transaction there is only one
+        int attempts = ifMatch == null && !TransactionSynchronizationManager.isActualTransactionActive()
+                ? maxUpdateAttempts : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeTransaction.execute(status -> applyPatch(id, patch, ifMatch));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= attempts) {
+                    throw e;
+                }
+                // random pause, growing with the attempts, so writers that collided do not collide again in lockstep
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L * attempt + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
             }
+        }
+    }
+
+    private GetTaskDTO applyPatch(Long id, JsonNode patch, String ifMatch) {
+        Task existingTask = findTaskForUpdate(id, ifMatch);
+        GetTaskDTO previous = GetTaskDTO.fromTask(existingTask);
+
+        ObjectNode merged = objectMapper.valueToTree(new CreateTaskDTO(previous.getTitle(), previous.getDescription(),
+                previous.getStatus(), previous.getPriority()));
+        mergePatch(merged, patch);
+        CreateTaskDTO patched;
+        try {
+            patched = objectMapper.treeToValue(merged, CreateTaskDTO.class);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            throw new BadRequestException(field != null ? "Invalid value for field: " + field : "Invalid merge patch");
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid merge patch");
+        }
+        String error = validationError(patched);
+        if (error != null) {
+            throw new BadRequestException(error);
+        }
+
+        existingTask.setTitle(patched.getTitle());
+        existingTask.setDescription(patched.getDescription());
+        existingTask.setStatus(patched.getStatus());
+        existingTask.setPriority(patched.getPriority());
+        return saveUpdate(existingTask, previous, ifMatch);
+    }
+
+    // Delete a task by id with a single DELETE that checks ownership itself, guarded like updateTask by the version
+    // the task is believed to be at: the cached task, or else the task read with its row locked. Either way the
+    // TaskEvent carries exactly the state deleted, a concurrent update only costs the locked read.
+    @Transactional
+    public void deleteTask(Long id) {
+        AuthenticatedUser currentUser = getAuthenticatedUser();
+        GetTaskDTO cached = taskCache.peek(id);
+        if (cached != null && delete(currentUser, id, cached.getVersion())) {
+            eventPublisher.publishEvent(TaskEvent.deleted(cached));
+            return;
+        }
+
+        GetTaskDTO previous = findWritableTask(id, null);
+        if (!delete(currentUser, id, previous.getVersion())) {
+            throw new IllegalStateException("Delete of locked task " + id + " matched no row");
+        }
+        eventPublisher.publishEvent(TaskEvent.deleted(previous));
+    }
+
+    private boolean delete(AuthenticatedUser currentUser, Long id, Long version) {
+        return taskRepository.deleteIfPermitted(id, version, currentUser.id(), currentUser.isAdmin()) == 1;
     }
 }
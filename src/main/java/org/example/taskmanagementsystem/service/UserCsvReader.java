@@ -0,0 +1,105 @@
+package org.example.taskmanagementsystem.service;
+
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.exception.BadRequestException;
+import org.example.taskmanagementsystem.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Users from CSV for bulk registration: a header row naming the columns (username, email, password, role, in any
+// order, role optional), then one user per row. Fields may be double quoted, with "" for a quote inside them.
+public final class UserCsvReader {
+    private UserCsvReader() {
+    }
+
+    public static List<User> read(String csv) {
+        List<List<String>> rows = parse(csv);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<String> header = rows.get(0).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        int username = header.indexOf("username");
+        int email = header.indexOf("email");
+        int password = header.indexOf("password");
+        int role = header.indexOf("role");
+        if (username < 0 || email < 0 || password < 0) {
+            throw new BadRequestException("CSV header must name the username, email and password columns");
+        }
+
+        List<User> users = new ArrayList<>(rows.size() - 1);
+        for (int i = 1; i < rows.size(); i++) {
+            List<String> row = rows.get(i);
+            users.add(new User(field(row, username), field(row, email), field(row, password), role(field(row, role), i)));
+        }
+        return users;
+    }
+
+    private static String field(List<String> row, int column) {
+        if (column < 0 || column >= row.size() || row.get(column).isBlank()) {
+            return null;
+        }
+        return row.get(column).trim();
+    }
+
+    // by name (TEAM_LEAD) or by value (team-lead), empty for the default
+    private static UserRole role(String value, int row) {
+        if (value == null) {
+            return null;
+        }
+        for (UserRole role : UserRole.values()) {
+            if (role.name().equalsIgnoreCase(value) || role.getValue().equalsIgnoreCase(value)) {
+                return role;
+            }
+        }
+        throw new BadRequestException("Unknown role '" + value + "' in CSV row " + row);
+    }
+
+    private static List<List<String>> parse(String csv) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRow(rows, row, field);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Unterminated quoted field in CSV");
+        }
+        endRow(rows, row, field);
+        return rows;
+    }
+
+    private static void endRow(List<List<String>> rows, List<String> row, StringBuilder field) {
+        row.add(field.toString());
+        field.setLength(0);
+        // blank lines are skipped
+        if (row.size() > 1 || !row.get(0).isBlank()) {
+            rows.add(row);
+        }
+    }
+}
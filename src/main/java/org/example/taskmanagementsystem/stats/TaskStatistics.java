@@ -0,0 +1,170 @@
+package org.example.taskmanagementsystem.stats;
+
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskCountRow;
+import org.example.taskmanagementsystem.dto.task.TaskStatsDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Task counts by status and priority, globally and per owner, kept as striped counters.
+// Committed TaskEvents move tasks between counters, so reads never touch the table. A periodic
+// recount with one GROUP BY replaces the counters and corrects any drift, e.g. from writes made
+// by another instance.
+@Component
+public class TaskStatistics {
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // event handlers share the read lock, counters are safe to bump concurrently
+    private volatile Counters counters = new Counters();
+    // events committed while a recount reads the table, replayed onto the recount; swapped under the write lock
+    private Queue<TaskEvent> eventsDuringRecount;
+
+    public TaskStatistics(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public TaskStatsDTO global() {
+        return counters.global.snapshot();
+    }
+
+    public TaskStatsDTO forOwner(String ownerEmail) {
+        Bucket bucket = counters.byOwner.get(ownerEmail);
+        return bucket != null ? bucket.snapshot() : new Bucket().snapshot();
+    }
+
+    // Only committed writes are counted, a rolled back write never reaches the counters
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        lock.readLock().lock();
+        try {
+            counters.apply(event);
+            if (eventsDuringRecount != null) {
+                eventsDuringRecount.add(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The recount's snapshot is taken when its statement starts. Events are recorded from just before that,
+    // so a write committing in between can be counted twice until the next recount.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:10m}", initialDelayString = "${task.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        lock.writeLock().lock();
+        try {
+            eventsDuringRecount = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Counters recount = new Counters();
+        boolean complete = false;
+        try {
+            List<TaskCountRow> rows = readOnlyTransaction.execute(status -> taskRepository.countByOwnerStatusAndPriority());
+            rows.forEach(row -> recount.add(row.ownerEmail(), row.status(), row.priority(), row.count()));
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    eventsDuringRecount.forEach(recount::apply);
+                    long counted = counters.global.total.sum();
+                    counters = recount;
+                    log.info("Task statistics recounted: {} tasks, counters had {}", recount.global.total.sum(), counted);
+                }
+                eventsDuringRecount = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class Counters {
+        final Bucket global = new Bucket();
+        final ConcurrentHashMap<String, Bucket> byOwner = new ConcurrentHashMap<>();
+
+        void apply(TaskEvent event) {
+            GetTaskDTO previous = event.previous();
+            GetTaskDTO task = event.task();
+            // updates that keep owner, status and priority leave every counter as it is
+            if (previous != null && task != null
+                    && Objects.equals(previous.getOwnerEmail(), task.getOwnerEmail())
+                    && Objects.equals(previous.getStatus(), task.getStatus())
+                    && Objects.equals(previous.getPriority(), task.getPriority())) {
+                return;
+            }
+            if (previous != null) {
+                add(previous.getOwnerEmail(), previous.getStatus(), previous.getPriority(), -1);
+            }
+            if (task != null) {
+                add(task.getOwnerEmail(), task.getStatus(), task.getPriority(), 1);
+            }
+        }
+
+        void add(String ownerEmail, TaskStatus status, TaskPriority priority, long delta) {
+            global.add(status, priority, delta);
+            byOwner.computeIfAbsent(ownerEmail, key -> new Bucket()).add(status, priority, delta);
+        }
+    }
+
+    // One counter per enum constant, indexed by ordinal
+    private static final class Bucket {
+        final LongAdder total = new LongAdder();
+        final LongAdder[] byStatus = counters(TaskStatus.values().length);
+        final LongAdder[] byPriority = counters(TaskPriority.values().length);
+
+        private static LongAdder[] counters(int size) {
+            LongAdder[] counters = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                counters[i] = new LongAdder();
+            }
+            return counters;
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> sums(Class<E> type, LongAdder[] counters) {
+            Map<E, Long> sums = new EnumMap<>(type);
+            for (E constant : type.getEnumConstants()) {
+                sums.put(constant, counters[constant.ordinal()].sum());
+            }
+            return sums;
+        }
+
+        void add(TaskStatus status, TaskPriority priority, long delta) {
+            total.add(delta);
+            byStatus[status.ordinal()].add(delta);
+            byPriority[priority.ordinal()].add(delta);
+        }
+
+        TaskStatsDTO snapshot() {
+            return new TaskStatsDTO(total.sum(), sums(TaskStatus.class, byStatus), sums(TaskPriority.class, byPriority));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.taskmanagementsystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Load test of one thread mode: starts the application on a random port with the test profile (H2 in memory),
+// plus the virtual-threads profile in virtual mode, then keeps `clients` connections busy with authenticated
+// GET /api/tasks pages and reports throughput and latency percentiles.
+// In-memory H2 answers without a network round trip, so every SQL statement is delayed by `db-latency-ms`
+// (slept on the request thread, as a blocking JDBC call to a remote database would) to give the threads
+// something to wait on. Both modes get the same connection pool size.
+// Virtual mode needs Java 21, and both modes check that requests really run on the threads they are named after
+// before measuring. Run with:
+// java -cp <test classpath> org.example.taskmanagementsystem.ThreadModeLoadRunner <platform|virtual> [clients] [seconds] [db-latency-ms] [pool-size]
+public class ThreadModeLoadRunner {
+    private static final int WARMUP_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        String mode = arg(args, 0, "platform");
+        int clients = Integer.parseInt(arg(args, 1, "400"));
+        int seconds = Integer.parseInt(arg(args, 2, "30"));
+        DatabaseLatency.millis = Long.parseLong(arg(args, 3, "5"));
+        int poolSize = Integer.parseInt(arg(args, 4, "50"));
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            // Spring Boot ignores spring.threads.virtual.enabled below 21, the run would measure platform threads
+            throw new IllegalStateException("Virtual mode needs Java 21 or newer, running on " + Runtime.version());
+        }
+
+        RequestThreadProbe probe = new RequestThreadProbe();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(RequestThreadProbe.class, () -> probe));
+        builder = virtual ? builder.profiles("test", "virtual-threads") : builder.profiles("test");
+        // as command line arguments, these override the profiles' properties files
+        try (ConfigurableApplicationContext context = builder.run(
+                "--security.jwt.token.secret-key=load-test",
+                "--server.port=0",
+                "--security.rate-limit.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + DatabaseLatency.class.getName(),
+                "--logging.level.root=WARN",
+                // test-only beans such as AuthHelper need MockMvc, lazy init leaves them out
+                "--spring.main.lazy-initialization=true")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder().build();
+            String token = seed(context, http, base);
+            if (probe.thread == null || isVirtual(probe.thread) != virtual) {
+                throw new IllegalStateException("Requests run on " + probe.thread + ", expected "
+                        + (virtual ? "virtual" : "platform") + " threads");
+            }
+            HttpRequest page = HttpRequest.newBuilder(URI.create(base + "/api/tasks?size=20&status=TODO"))
+                    .header("Authorization", "Bearer " + token).GET().build();
+
+            run(http, page, clients, WARMUP_SECONDS);
+            Result result = run(http, page, clients, seconds);
+            System.out.printf("mode=%s java=%s clients=%d seconds=%d db-latency-ms=%d pool=%d%n",
+                    mode, System.getProperty("java.version"), clients, seconds, DatabaseLatency.millis, poolSize);
+            System.out.printf("requests=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                    result.latencies.length, result.errors, result.latencies.length / (double) seconds,
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                    percentile(result.latencies, 1.0));
+        }
+    }
+
+    // A user and 1000 of their tasks, returns the user's access token
+    private static String seed(ConfigurableApplicationContext context, HttpClient http, String base) throws Exception {
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        context.getBean(UserRepository.class)
+                .save(new User("load", "load@example.com", passwordEncoder.encode("password"), UserRole.MEMBER));
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        String login = http.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                Map.of("email", "load@example.com", "password", "password"))))
+                        .build(), HttpResponse.BodyHandlers.ofString()).body();
+        String token = objectMapper.readTree(login).get("accessToken").asText();
+
+        List<CreateTaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new CreateTaskDTO("Task " + i, "Load test task " + i, TaskStatus.values()[i % 3], TaskPriority.MEDIUM));
+        }
+        http.send(HttpRequest.newBuilder(URI.create(base + "/api/tasks/bulk"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(tasks)))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return token;
+    }
+
+    // Each client sends the next request as soon as the previous one is answered
+    private static Result run(HttpClient http, HttpRequest request, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            List<long[]> all = new ArrayList<>();
+            for (Future<long[]> result : results) {
+                all.add(result.get());
+            }
+            long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(latencies, errors.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Thread.isVirtual() is not in the Java 17 API this compiles against
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        if (Runtime.version().feature() < 21) {
+            return false;
+        }
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    // Keeps the thread that served the first request, registered as a bean so Spring Boot adds it to Tomcat
+    public static class RequestThreadProbe implements Filter {
+        volatile Thread thread;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            if (thread == null) {
+                thread = Thread.currentThread();
+            }
+            chain.doFilter(request, response);
+        }
+    }
+
+    // Stands in for the network round trip to a remote database, once per SQL statement
+    public static class DatabaseLatency implements StatementInspector {
+        static volatile long millis;
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
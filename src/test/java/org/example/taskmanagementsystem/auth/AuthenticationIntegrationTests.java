@@ -1,12 +1,16 @@
 package org.example.taskmanagementsystem.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +19,7 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +38,9 @@ public class AuthenticationIntegrationTests {
     @Autowired
     private AuthHelper authHelper;
 
+    @Autowired
+    private UserRepository userRepository;
+
 
     @Test
     public void testLoginSuccess() throws Exception {
@@ -48,6 +56,31 @@ public class AuthenticationIntegrationTests {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testTokenAuthenticatesWithoutLoadingUser() throws Exception {
+        authHelper.registerDefaultUser();
+        String accessToken = authHelper.loginAndGetToken("test@example.com", "test1234");
+
+        // the principal comes from the token's claims, so requests no longer need the users row
+        userRepository.deleteAll();
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testLoginRehashesPasswordOfAnotherCost() throws Exception {
+        // stored before the cost was changed, tests hash at cost 4
+        userRepository.save(new User("oldUser", "old@example.com", new BCryptPasswordEncoder(5).encode("test1234"), UserRole.MEMBER));
+
+        authHelper.loginAndGetToken("old@example.com", "test1234");
+
+        String rehashed = userRepository.findByEmail("old@example.com").orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$04$"));
+        authHelper.loginAndGetToken("old@example.com", "test1234");
+    }
+
     @Test
     public void testLoginWithInvalidCredentials() throws Exception {
         // Register user
@@ -98,6 +131,57 @@ public class AuthenticationIntegrationTests {
                 .andExpect(status().is(anyOf(is(401), is(403))));
     }
 
+    @Test
+    public void testLogoutAllInvalidatesEveryToken() throws Exception {
+        authHelper.registerDefaultUser();
+        String laptopToken = authHelper.loginAndGetToken("test@example.com", "test1234");
+        String phoneToken = authHelper.loginAndGetToken("test@example.com", "test1234");
+
+        mockMvc.perform(post("/auth/logout-all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + laptopToken))
+                .andExpect(status().isOk());
+
+        for (String token : new String[]{laptopToken, phoneToken}) {
+            mockMvc.perform(get("/api/tasks/stats")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isUnauthorized());
+        }
+        // tokens issued afterwards carry the new epoch
+        String newToken = authHelper.loginAndGetToken("test@example.com", "test1234");
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testAdminLogsOutAllSessionsOfUser() throws Exception {
+        authHelper.registerDefaultUser();
+        authHelper.registerUser("admin", "admin@example.com", "admin1234", UserRole.ADMIN);
+        String memberToken = authHelper.loginAndGetToken("test@example.com", "test1234");
+        String adminToken = authHelper.loginAndGetToken("admin@example.com", "admin1234");
+        Long memberId = userRepository.findByEmail("test@example.com").orElseThrow().getId();
+        Long adminId = userRepository.findByEmail("admin@example.com").orElseThrow().getId();
+
+        // members cannot end other users' sessions
+        mockMvc.perform(post("/auth/users/" + adminId + "/logout-all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + memberToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/auth/users/" + memberId + "/logout-all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/users/" + (adminId + 1000) + "/logout-all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + memberToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testLogoutFailure() throws Exception {
         // attempt logout without authorization header
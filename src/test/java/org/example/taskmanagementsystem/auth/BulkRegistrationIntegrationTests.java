@@ -0,0 +1,160 @@
+package org.example.taskmanagementsystem.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: every batch commits on its own, and a batch with a taken email is rolled back and retried
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BulkRegistrationIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    private JsonNode registerAll(MediaType contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/auth/register/bulk")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    @Test
+    void shouldRegisterUsersAndReportEveryRow() throws Exception {
+        authHelper.registerUser("taken", "user60@example.com", "password", UserRole.MEMBER);
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(Map.of("username", "user" + i, "email", "user" + i + "@example.com",
+                    "password", "password" + i, "role", UserRole.MEMBER));
+        }
+        // repeated within the request, and without a password
+        users.add(Map.of("username", "again", "email", "user1@example.com", "password", "password", "role", UserRole.MEMBER));
+        Map<String, Object> noPassword = new HashMap<>(Map.of("username", "nopass", "email", "nopass@example.com"));
+        users.add(noPassword);
+
+        JsonNode results = registerAll(MediaType.APPLICATION_JSON, objectMapper.writeValueAsString(users));
+
+        assertEquals(122, results.size());
+        for (int i = 0; i < 120; i++) {
+            JsonNode result = results.get(i);
+            assertEquals(i, result.get("index").asInt());
+            // user60 is in the second batch, which is retried one user at a time
+            assertEquals(i == 60 ? 403 : 201, result.get("status").asInt(), result.toString());
+        }
+        assertEquals("User already exists", results.get(60).get("error").asText());
+        assertEquals(403, results.get(120).get("status").asInt());
+        assertEquals(400, results.get(121).get("status").asInt());
+        assertEquals("Invalid value for field: password (must not be blank)", results.get(121).get("error").asText());
+        assertEquals(120, userRepository.count());
+
+        User created = userRepository.findByEmail("user99@example.com").orElseThrow();
+        assertEquals(results.get(99).get("id").asLong(), created.getId());
+        authHelper.loginAndGetToken("user99@example.com", "password99");
+    }
+
+    @Test
+    void shouldOnlyReportTakenEmailsAsExistingUsers() throws Exception {
+        authHelper.registerUser("taken", "taken@example.com", "password", UserRole.MEMBER);
+        List<Map<String, Object>> users = List.of(
+                Map.of("username", "taken", "email", "taken@example.com", "password", "password"),
+                Map.of("username", "invalid", "email", "not-an-email", "password", "password"),
+                // passes validation, but does not fit the username column
+                Map.of("username", "u".repeat(300), "email", "long@example.com", "password", "password"),
+                Map.of("username", "fine", "email", "fine@example.com", "password", "password"));
+
+        JsonNode results = registerAll(MediaType.APPLICATION_JSON, objectMapper.writeValueAsString(users));
+
+        assertEquals(403, results.get(0).get("status").asInt());
+        assertEquals("User already exists", results.get(0).get("error").asText());
+        assertEquals(400, results.get(1).get("status").asInt());
+        assertEquals("Invalid value for field: email (must be a well-formed email address)", results.get(1).get("error").asText());
+        assertEquals(400, results.get(2).get("status").asInt(), results.get(2).toString());
+        assertTrue(results.get(2).get("error").asText().startsWith("Rejected by the database"), results.get(2).toString());
+        assertEquals(201, results.get(3).get("status").asInt());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void singleRegistrationShouldApplyTheSameConstraints() throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", "invalid", "email", "not-an-email", "password", "password"))))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, userRepository.count());
+    }
+
+    @Test
+    void shouldRegisterUsersFromCsv() throws Exception {
+        String csv = """
+                email,username,password,role
+                lead@example.com,lead,"pass,word",team-lead
+                member@example.com,"The ""Member\""",secret,
+
+                admin@example.com,admin,secret,ADMIN
+                """;
+
+        JsonNode results = registerAll(MediaType.valueOf("text/csv"), csv);
+
+        assertEquals(3, results.size());
+        results.forEach(result -> assertEquals(201, result.get("status").asInt()));
+        assertEquals(UserRole.TEAM_LEAD, userRepository.findByEmail("lead@example.com").orElseThrow().getRole());
+        assertEquals("The \"Member\"", userRepository.findByEmail("member@example.com").orElseThrow().getUsername());
+        assertEquals(UserRole.ADMIN, userRepository.findByEmail("admin@example.com").orElseThrow().getRole());
+        authHelper.loginAndGetToken("lead@example.com", "pass,word");
+    }
+
+    @Test
+    void shouldOnlyLetAdminsRegisterUsers() throws Exception {
+        mockMvc.perform(post("/auth/register/bulk")
+                        .with(user("member").roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/auth/register/bulk")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType("text/csv")
+                        .content("email,username\nuser@example.com,user\n"))
+                .andExpect(status().isBadRequest());
+        assertTrue(userRepository.findByEmail("user@example.com").isEmpty());
+    }
+}
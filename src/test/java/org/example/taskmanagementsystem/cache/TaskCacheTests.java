@@ -0,0 +1,138 @@
+package org.example.taskmanagementsystem.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskCacheTests {
+    private TaskRepository taskRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private static GetTaskDTO task(String title) {
+        return new GetTaskDTO(1L, title, "description", TaskStatus.TODO, TaskPriority.HIGH, "owner@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = Mockito.mock(TaskRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(taskRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldLoadEachTaskOnce() {
+        Mockito.when(taskRepository.findDtoById(1L)).thenReturn(Optional.of(task("Cached")));
+
+        assertEquals("Cached", taskCache.get(1L).orElseThrow().getTitle());
+        assertEquals("Cached", taskCache.get(1L).orElseThrow().getTitle());
+
+        Mockito.verify(taskRepository, Mockito.times(1)).findDtoById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldNotCacheMissingTasks() {
+        Mockito.when(taskRepository.findDtoById(1L)).thenReturn(Optional.empty(), Optional.of(task("Created later")));
+
+        assertTrue(taskCache.get(1L).isEmpty());
+        assertEquals("Created later", taskCache.get(1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void shouldReloadAfterWrite() {
+        Mockito.when(taskRepository.findDtoById(1L)).thenReturn(Optional.of(task("Before")), Optional.of(task("After")));
+        taskCache.get(1L);
+
+        taskCache.onTaskEvent(TaskEvent.updated(task("Before"), task("After")));
+        assertEquals("After", taskCache.get(1L).orElseThrow().getTitle());
+
+        taskCache.onTaskEvent(TaskEvent.deleted(task("After")));
+        Mockito.when(taskRepository.findDtoById(1L)).thenReturn(Optional.empty());
+        assertTrue(taskCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void invalidationShouldDropInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(taskRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            // a reader that saw the row before the writer committed
+            loading.countDown();
+            release.await();
+            return Optional.of(task("Stale"));
+        }).thenReturn(Optional.of(task("Fresh")));
+
+        CompletableFuture<Optional<GetTaskDTO>> reader = CompletableFuture.supplyAsync(() -> taskCache.get(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // the writer does not wait for the load, it is never held up by a database query under a lock
+        taskCache.onTaskEvent(TaskEvent.updated(task("Stale"), task("Fresh")));
+        assertFalse(reader.isDone());
+
+        release.countDown();
+        assertEquals("Stale", reader.get(5, TimeUnit.SECONDS).orElseThrow().getTitle());
+        // what the dropped load read is not cached
+        assertEquals("Fresh", taskCache.get(1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void concurrentReadersShouldShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(taskRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(task("Shared"));
+        });
+
+        List<CompletableFuture<Optional<GetTaskDTO>>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(CompletableFuture.supplyAsync(() -> taskCache.get(1L), executor));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<Optional<GetTaskDTO>> reader : readers) {
+            assertEquals("Shared", reader.get(5, TimeUnit.SECONDS).orElseThrow().getTitle());
+        }
+        Mockito.verify(taskRepository, Mockito.times(1)).findDtoById(1L);
+    }
+
+    @Test
+    void failedLoadShouldNotBeCached() {
+        Mockito.when(taskRepository.findDtoById(1L))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(Optional.of(task("Loaded")));
+
+        assertThrows(IllegalStateException.class, () -> taskCache.get(1L));
+        assertEquals("Loaded", taskCache.get(1L).orElseThrow().getTitle());
+    }
+}
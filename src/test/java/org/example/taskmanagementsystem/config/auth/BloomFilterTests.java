@@ -0,0 +1,43 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterTests {
+
+    private static byte[] digest(String value) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldContainEveryEntryPut() throws NoSuchAlgorithmException {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(digest("token-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(digest("token-" + i)), "token-" + i);
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearConfiguredRate() throws NoSuchAlgorithmException {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(digest("token-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(digest("other-" + i))) {
+                falsePositives++;
+            }
+        }
+        // 1% expected when full, allow for variance
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanagementsystem.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedPasswordEncoderTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void shouldHashOnPoolAndRecordLatency() {
+        encoder = new BoundedPasswordEncoder(4, 2, 10, meterRegistry);
+
+        String hash = encoder.encode("secret");
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+
+        assertEquals(1, meterRegistry.get("security.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("security.password.queue.wait").timer().count());
+    }
+
+    @Test
+    void shouldHashManyPasswordsInOrder() {
+        encoder = new BoundedPasswordEncoder(4, 2, 2, meterRegistry);
+        List<String> passwords = IntStream.range(0, 20).mapToObj(i -> "password" + i).toList();
+
+        // far more passwords than the queue holds, at most one per thread is queued at a time
+        List<String> hashes = encoder.encodeAll(passwords);
+
+        assertEquals(20, hashes.size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(encoder.matches("password" + i, hashes.get(i)));
+        }
+        assertEquals(0, meterRegistry.get("security.password.rejected").counter().count());
+    }
+
+    @Test
+    void shouldUpgradeHashesOfAnotherCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 10, meterRegistry);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        // raised and lowered costs are both rehashed
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("not a bcrypt hash"));
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 4, 1, 1, meterRegistry);
+
+        // one hash running, one waiting for the single thread
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash"));
+        for (int i = 0; i < 200 && meterRegistry.get("security.password.queue.depth").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.matches("c", "hash"));
+        assertEquals(1, meterRegistry.get("security.password.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
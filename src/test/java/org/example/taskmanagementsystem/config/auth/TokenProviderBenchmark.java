@@ -0,0 +1,60 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Throughput of validating the same access token again, as happens on every request of a client:
+// - perCallVerifier: what validateToken did before, a new Algorithm and JWTVerifier per call
+// - sharedVerifier: one verifier built at startup, still verifying and decoding every time
+// - cachedValidation: validateToken, answered from the verified-token cache after the first call
+// Run with: java -cp <test classpath> org.openjdk.jmh.Main TokenProviderBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new TokenProvider(SECRET, 10_000);
+        User user = new User("member", "member@example.com", "password", UserRole.MEMBER);
+        ReflectionTestUtils.setField(user, "id", 1L);
+        token = tokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String perCallVerifier() {
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token).getSubject();
+    }
+
+    @Benchmark
+    public VerifiedToken sharedVerifier() {
+        return tokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedValidation() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenProviderTests {
+    private final TokenProvider tokenProvider = new TokenProvider("secret", 100);
+
+    private String tokenFor(Long id, String email, UserRole role) {
+        User user = new User("user", email, "password", role);
+        ReflectionTestUtils.setField(user, "id", id);
+        return tokenProvider.generateAccessToken(user);
+    }
+
+    @Test
+    void shouldCarryPrincipalInClaims() {
+        String token = tokenFor(42L, "admin@example.com", UserRole.ADMIN);
+
+        VerifiedToken verified = tokenProvider.validateToken(token);
+        assertEquals(new AuthenticatedUser(42L, "admin@example.com", UserRole.ADMIN), verified.principal());
+        assertEquals("admin@example.com", verified.subject());
+    }
+
+    @Test
+    void shouldCarryTokenEpoch() {
+        User user = new User("user", "member@example.com", "password", UserRole.MEMBER);
+        ReflectionTestUtils.setField(user, "id", 7L);
+        user.setTokenEpoch(3);
+
+        assertEquals(3, tokenProvider.validateToken(tokenProvider.generateAccessToken(user)).epoch());
+    }
+
+    @Test
+    void shouldNotBuildPrincipalFromTokenWithoutClaims() {
+        // as issued before the uid and role claims
+        String token = JWT.create()
+                .withSubject("member@example.com")
+                .withClaim("username", "member")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("secret"));
+
+        VerifiedToken verified = tokenProvider.validateToken(token);
+        assertNull(verified.principal());
+        assertEquals("member@example.com", verified.subject());
+        assertEquals(0, verified.epoch());
+    }
+
+    @Test
+    void shouldReuseVerificationOfSameToken() {
+        String token = tokenFor(1L, "member@example.com", UserRole.MEMBER);
+
+        assertSame(tokenProvider.validateToken(token), tokenProvider.validateToken(token));
+    }
+
+    @Test
+    void shouldRejectTamperedAndForeignTokensEvenWhenGenuineOneIsCached() {
+        String token = tokenFor(1L, "member@example.com", UserRole.MEMBER);
+        tokenProvider.validateToken(token);
+
+        // same signature, payload of someone else
+        String[] parts = token.split("\\.");
+        String other = tokenFor(2L, "admin@example.com", UserRole.ADMIN);
+        String tampered = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+        assertThrows(JWTVerificationException.class, () -> tokenProvider.validateToken(tampered));
+
+        String foreign = JWT.create()
+                .withSubject("member@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("another secret"));
+        assertThrows(JWTVerificationException.class, () -> tokenProvider.validateToken(foreign));
+    }
+
+    @Test
+    void shouldRejectExpiredTokens() {
+        String expired = JWT.create()
+                .withSubject("member@example.com")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("secret"));
+
+        assertThrows(JWTVerificationException.class, () -> tokenProvider.validateToken(expired));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.taskmanagementsystem.config.auth;
+
+import org.example.taskmanagementsystem.model.InvalidToken;
+import org.example.taskmanagementsystem.repository.InvalidTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+public class TokenRevocationListTests {
+    private InvalidTokenRepository invalidTokenRepository;
+    private TokenRevocationList revocationList;
+
+    private static String hash(String token) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // A row as read back from the table, with the id the database gave it
+    private static InvalidToken row(long id, String token, Instant expiresAt) throws Exception {
+        InvalidToken row = new InvalidToken(hash(token), expiresAt);
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        invalidTokenRepository = Mockito.mock(InvalidTokenRepository.class);
+        Mockito.when(invalidTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                row(1, "revoked-before-restart", Instant.now().plusSeconds(600))));
+        revocationList = new TokenRevocationList(invalidTokenRepository, 1000, 0.01);
+        revocationList.load();
+    }
+
+    @Test
+    void shouldAnswerLookupsWithoutDatabase() {
+        Mockito.clearInvocations(invalidTokenRepository);
+
+        assertTrue(revocationList.isRevoked("revoked-before-restart"));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(revocationList.isRevoked("valid-" + i));
+        }
+        Mockito.verifyNoInteractions(invalidTokenRepository);
+    }
+
+    @Test
+    void shouldStoreOnlyHashOfRevokedToken() throws Exception {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        assertTrue(revocationList.revoke("logged-out", expiresAt));
+        assertFalse(revocationList.revoke("logged-out", expiresAt));
+
+        ArgumentCaptor<InvalidToken> saved = ArgumentCaptor.forClass(InvalidToken.class);
+        Mockito.verify(invalidTokenRepository).save(saved.capture());
+        assertEquals(hash("logged-out"), saved.getValue().getTokenHash());
+        assertEquals(expiresAt, saved.getValue().getExpiresAt());
+        assertTrue(revocationList.isRevoked("logged-out"));
+    }
+
+    @Test
+    void shouldPickUpTokensRevokedElsewhereAndForgetExpiredOnes() throws Exception {
+        Mockito.when(invalidTokenRepository.findByIdGreaterThan(1L)).thenReturn(List.of(
+                row(2, "revoked-on-other-instance", Instant.now().plusSeconds(600))));
+        revocationList.refresh();
+        assertTrue(revocationList.isRevoked("revoked-on-other-instance"));
+
+        revocationList.revoke("expiring", Instant.now().minusSeconds(1));
+        assertFalse(revocationList.isRevoked("expiring"));
+
+        // a row refresh() could not see yet, committed after row 2 was read
+        Mockito.when(invalidTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                row(1, "revoked-before-restart", Instant.now().plusSeconds(600)),
+                row(2, "revoked-on-other-instance", Instant.now().plusSeconds(600)),
+                row(3, "committed-late", Instant.now().plusSeconds(600))));
+        revocationList.purgeExpired();
+        Mockito.verify(invalidTokenRepository).deleteExpired(any());
+        assertTrue(revocationList.isRevoked("committed-late"));
+        assertTrue(revocationList.isRevoked("revoked-before-restart"));
+        assertTrue(revocationList.isRevoked("revoked-on-other-instance"));
+        // gone from memory, so it could be revoked again
+        assertTrue(revocationList.revoke("expiring", Instant.now().plusSeconds(600)));
+    }
+
+    @Test
+    void refreshShouldOnlyReadRowsAddedSinceTheLastOne() throws Exception {
+        Mockito.when(invalidTokenRepository.findByIdGreaterThan(anyLong())).thenReturn(List.of());
+        Mockito.when(invalidTokenRepository.findByIdGreaterThan(1L)).thenReturn(List.of(
+                row(2, "expired-elsewhere", Instant.now().minusSeconds(1)),
+                row(3, "revoked-elsewhere", Instant.now().plusSeconds(600))));
+
+        revocationList.refresh();
+        revocationList.refresh();
+
+        Mockito.verify(invalidTokenRepository).findByIdGreaterThan(1L);
+        Mockito.verify(invalidTokenRepository).findByIdGreaterThan(3L);
+        Mockito.verify(invalidTokenRepository, Mockito.times(1)).findByExpiresAtAfter(any());
+        assertTrue(revocationList.isRevoked("revoked-elsewhere"));
+        assertFalse(revocationList.isRevoked("expired-elsewhere"));
+    }
+}
@@ -1,31 +1,57 @@
 package org.example.taskmanagementsystem.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
 import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskPage;
+import org.example.taskmanagementsystem.dto.task.TaskStatsDTO;
+import org.example.taskmanagementsystem.dto.task.TaskTicketDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
 import org.example.taskmanagementsystem.exception.AccessDeniedException;
+import org.example.taskmanagementsystem.exception.PreconditionFailedException;
 import org.example.taskmanagementsystem.exception.ResourceNotFoundException;
+import org.example.taskmanagementsystem.exception.ServiceUnavailableException;
+import org.example.taskmanagementsystem.ingest.TaskIngestionQueue;
+import org.example.taskmanagementsystem.model.Task;
 import org.example.taskmanagementsystem.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -43,17 +69,21 @@ public class TaskControllerTests {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskIngestionQueue taskIngestionQueue;
+
     @Test
     void shouldGetAllTasks() throws Exception {
-        GetTaskDTO task1 = new GetTaskDTO(1L, "Task 1", "Description 1", "TODO", "HIGH", "sam@gmail.com");
-        GetTaskDTO task2 = new GetTaskDTO(2L, "Task 2", "Description 2", "IN_PROGRESS", "MEDIUM", "test@gmail.com");
+        GetTaskDTO task1 = new GetTaskDTO(1L, "Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+        GetTaskDTO task2 = new GetTaskDTO(2L, "Task 2", "Description 2", TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, "test@gmail.com");
         List<GetTaskDTO> tasks = Arrays.asList(task1, task2);
 
-        Mockito.when(taskService.getAllTasks()).thenReturn(tasks);
+        Mockito.when(taskService.getTasks(TaskFilter.NONE, null, null, null)).thenReturn(new TaskPage(tasks, null));
 
         mockMvc.perform(get("/api/tasks")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].title").value("Task 1"))
                 .andExpect(jsonPath("$[1].title").value("Task 2"))
@@ -61,10 +91,112 @@ public class TaskControllerTests {
                 .andExpect(jsonPath("$[1].ownerEmail").value("test@gmail.com"));
     }
 
+    @Test
+    void shouldNegotiateBinaryFormats() throws Exception {
+        GetTaskDTO task = new GetTaskDTO(1L, "Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+        Mockito.when(taskService.getTasks(TaskFilter.NONE, null, null, null)).thenReturn(new TaskPage(List.of(task), null));
+        TypeReference<List<GetTaskDTO>> listType = new TypeReference<>() {};
+
+        byte[] cbor = mockMvc.perform(get("/api/tasks").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Task 1", new CBORMapper().readValue(cbor, listType).get(0).getTitle());
+
+        byte[] smile = mockMvc.perform(get("/api/tasks").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("sam@gmail.com", new SmileMapper().readValue(smile, listType).get(0).getOwnerEmail());
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldLinkToNextPage() throws Exception {
+        GetTaskDTO task1 = new GetTaskDTO(1L, "Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+
+        Mockito.when(taskService.getTasks(TaskFilter.NONE, null, null, 1)).thenReturn(new TaskPage(List.of(task1), "next-page"));
+
+        mockMvc.perform(get("/api/tasks?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("Link", containsString("cursor=next-page")))
+                .andExpect(header().string("Link", containsString("size=1")))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    @Test
+    void shouldPassFiltersAndSortToService() throws Exception {
+        GetTaskDTO task1 = new GetTaskDTO(1L, "Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+        TaskFilter filter = new TaskFilter(TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+
+        Mockito.when(taskService.getTasks(filter, "-priority", null, null)).thenReturn(new TaskPage(List.of(task1), null));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "TODO")
+                        .param("priority", "HIGH")
+                        .param("ownerEmail", "sam@gmail.com")
+                        .param("sort", "-priority"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].ownerEmail").value("sam@gmail.com"));
+    }
+
+    @Test
+    void shouldSearchTasks() throws Exception {
+        GetTaskDTO task1 = new GetTaskDTO(7L, "Fix login bug", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
+
+        Mockito.when(taskService.searchTasks("login", null)).thenReturn(List.of(task1));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "login"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].title").value("Fix login bug"));
+
+        mockMvc.perform(get("/api/tasks/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamTasksAsNdjson() throws Exception {
+        String lines = "{\"id\":1,\"title\":\"Task 1\"}\n{\"id\":2,\"title\":\"Task 2\"}\n";
+
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(lines.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(taskService).exportTasks(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(lines));
+    }
+
+    @Test
+    void shouldGetTaskStats() throws Exception {
+        Mockito.when(taskService.getTaskStats("sam@gmail.com"))
+                .thenReturn(new TaskStatsDTO(3, Map.of(TaskStatus.TODO, 2L, TaskStatus.DONE, 1L), Map.of(TaskPriority.HIGH, 3L)));
+
+        mockMvc.perform(get("/api/tasks/stats?ownerEmail=sam@gmail.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.TODO").value(2))
+                .andExpect(jsonPath("$.byPriority.HIGH").value(3));
+    }
+
     @Test
     void shouldGetTaskById() throws Exception {
         Long taskId = 1L;
-        GetTaskDTO task = new GetTaskDTO(taskId,"Task 1", "Description 1", "TODO", "HIGH", "sam@gmail.com");
+        GetTaskDTO task = new GetTaskDTO(taskId,"Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
 
         Mockito.when(taskService.getTaskById(taskId)).thenReturn(Optional.of(task));
 
@@ -75,6 +207,24 @@ public class TaskControllerTests {
                 .andExpect(jsonPath("$.ownerEmail").value("sam@gmail.com"));
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        Long taskId = 1L;
+        GetTaskDTO task = new GetTaskDTO(taskId, "Task 1", "Description 1", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com", 3L);
+
+        Mockito.when(taskService.getTaskById(taskId)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void shouldReturnNotFoundWhenTaskDoesNotExist() throws Exception {
         Long taskId = 1L;
@@ -88,8 +238,8 @@ public class TaskControllerTests {
     @Test
     @WithMockUser
     void shouldCreateTask() throws Exception {
-        CreateTaskDTO inputTask = new CreateTaskDTO("New Task", "Description", "TODO", "HIGH");
-        GetTaskDTO createdTask = new GetTaskDTO(1L, "New Task", "Description", "TODO", "HIGH", "sam@gmail.com");
+        CreateTaskDTO inputTask = new CreateTaskDTO("New Task", "Description", TaskStatus.TODO, TaskPriority.HIGH);
+        GetTaskDTO createdTask = new GetTaskDTO(1L, "New Task", "Description", TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com");
 
         Mockito.when(taskService.createTask(any(CreateTaskDTO.class))).thenReturn(createdTask);
 
@@ -101,10 +251,91 @@ public class TaskControllerTests {
                 .andExpect(jsonPath("$.ownerEmail").value("sam@gmail.com"));
     }
 
+    @Test
+    @WithMockUser
+    void shouldAcceptCompletedAsDone() throws Exception {
+        GetTaskDTO createdTask = new GetTaskDTO(1L, "New Task", "Description", TaskStatus.DONE, TaskPriority.HIGH, "sam@gmail.com");
+        Mockito.when(taskService.createTask(any(CreateTaskDTO.class))).thenReturn(createdTask);
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"New Task\", \"status\": \"COMPLETED\", \"priority\": \"HIGH\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("DONE"));
+        Mockito.verify(taskService).createTask(Mockito.argThat(task -> task.getStatus() == TaskStatus.DONE));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldAcceptTaskForAsyncCreation() throws Exception {
+        UUID ticket = UUID.randomUUID();
+        CreateTaskDTO newTask = new CreateTaskDTO("New Task", "New Description", TaskStatus.TODO, TaskPriority.MEDIUM);
+
+        Mockito.when(taskIngestionQueue.submit(any(CreateTaskDTO.class), any())).thenReturn(TaskTicketDTO.pending(ticket));
+
+        mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/tasks/tickets/" + ticket))
+                .andExpect(jsonPath("$.ticket").value(ticket.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.taskId").doesNotExist());
+        Mockito.verify(taskService, Mockito.never()).createTask(any());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnServiceUnavailableWhenIngestionQueueIsFull() throws Exception {
+        CreateTaskDTO newTask = new CreateTaskDTO("New Task", "New Description", TaskStatus.TODO, TaskPriority.MEDIUM);
+
+        Mockito.when(taskIngestionQueue.submit(any(CreateTaskDTO.class), any()))
+                .thenThrow(new ServiceUnavailableException("Too many tasks waiting to be created, retry later"));
+
+        mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTask)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnTicketState() throws Exception {
+        UUID ticket = UUID.randomUUID();
+
+        Mockito.when(taskIngestionQueue.getTicket(eq(ticket), any())).thenReturn(Optional.of(TaskTicketDTO.created(ticket, 7L)));
+
+        mockMvc.perform(get("/api/tasks/tickets/{ticket}", ticket))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.taskId").value(7));
+        mockMvc.perform(get("/api/tasks/tickets/{ticket}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldRejectTaskWithoutStatusOrWithUnknownPriority() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"New Task\", \"priority\": \"HIGH\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("status")));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"New Task\", \"status\": \"TODO\", \"priority\": \"URGENT\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for field: priority"));
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
     @Test
     @WithMockUser
     void shouldReturnNotFoundWhenCreatingTaskWithInvalidOwner() throws Exception {
-        CreateTaskDTO inputTask = new CreateTaskDTO("New Task", "Description", "TODO", "HIGH");
+        CreateTaskDTO inputTask = new CreateTaskDTO("New Task", "Description", TaskStatus.TODO, TaskPriority.HIGH);
         String errorMessage = "User with email: invalid@gmail.com not found";
 
         Mockito.when(taskService.createTask(any(CreateTaskDTO.class)))
@@ -120,10 +351,10 @@ public class TaskControllerTests {
     @WithMockUser
     void shouldUpdateTask() throws Exception {
         Long taskId = 1L;
-        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", "DONE", "LOW");
-        GetTaskDTO updatedTask = new GetTaskDTO(taskId, "Updated Task", "Updated Description", "DONE", "LOW", "sam@gmail.com");
+        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", TaskStatus.DONE, TaskPriority.LOW);
+        GetTaskDTO updatedTask = new GetTaskDTO(taskId, "Updated Task", "Updated Description", TaskStatus.DONE, TaskPriority.LOW, "sam@gmail.com");
 
-        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class))).thenReturn(updatedTask);
+        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class), isNull())).thenReturn(updatedTask);
 
         mockMvc.perform(put("/api/tasks/{id}", taskId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -133,13 +364,29 @@ public class TaskControllerTests {
                 .andExpect(jsonPath("$.status").value("DONE"));
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnConflictWhenTaskWasUpdatedConcurrently() throws Exception {
+        Long taskId = 1L;
+        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, taskId));
+
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateInfo)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
     @Test
     @WithMockUser
     void shouldReturnForbiddenWhenUserNotAuthorized() throws Exception {
         Long taskId = 1L;
-        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", "DONE", "LOW");
+        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", TaskStatus.DONE, TaskPriority.LOW);
 
-        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class)))
+        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class), isNull()))
                 .thenThrow(new AccessDeniedException("Action not permitted"));
 
         mockMvc.perform(put("/api/tasks/{id}", taskId)
@@ -148,6 +395,22 @@ public class TaskControllerTests {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        Long taskId = 1L;
+        CreateTaskDTO updateInfo = new CreateTaskDTO("Updated Task", "Updated Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        Mockito.when(taskService.updateTask(eq(taskId), any(CreateTaskDTO.class), eq("\"1\"")))
+                .thenThrow(new PreconditionFailedException("Task with id: 1 has been modified"));
+
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateInfo)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @WithMockUser
     void shouldDeleteTask() throws Exception {
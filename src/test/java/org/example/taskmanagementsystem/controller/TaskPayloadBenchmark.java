@@ -0,0 +1,101 @@
+package org.example.taskmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization time of task list pages per wire format, with and without gzip.
+// Payload sizes are printed once per trial, before the measurements.
+// Run with: java -cp <test classpath> org.openjdk.jmh.Main TaskPayloadBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPayloadBenchmark {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final String[] WORDS = {"fix", "login", "page", "deploy", "review", "api", "database",
+            "migration", "flaky", "test", "update", "docs", "release", "notes", "cache", "search"};
+
+    @Param({"100", "1000", "10000"})
+    private int tasks;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private List<GetTaskDTO> page;
+    private ObjectWriter writer;
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        page = new ArrayList<>(tasks);
+        for (long id = 1; id <= tasks; id++) {
+            page.add(new GetTaskDTO(id, sentence(random, 4), sentence(random, 20),
+                    STATUSES[random.nextInt(STATUSES.length)], PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    "user" + random.nextInt(1_000) + "@example.com"));
+        }
+        writer = mapper(format).writerFor(GetTaskDTO[].class);
+
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n",
+                format, tasks, serialize().length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(page.toArray(new GetTaskDTO[0]));
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, page.toArray(new GetTaskDTO[0]));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.taskmanagementsystem.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: only committed writes are streamed
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskFeedIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskFeed taskFeed;
+
+    private String ownerToken;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        authHelper.registerUser("other", "other@example.com", "password", UserRole.MEMBER);
+        ownerToken = authHelper.loginAndGetToken("owner@example.com", "password");
+        otherToken = authHelper.loginAndGetToken("other@example.com", "password");
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private MockHttpServletResponse subscribe(String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    // Events are written by the feed's sender threads, after the request that made the change has returned
+    private static String awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            String content = stream.getContentAsString();
+            if (content.split("event:").length - 1 >= count) {
+                return content;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("expected " + count + " events, got: " + stream.getContentAsString());
+    }
+
+    private String taskJson(String title) throws Exception {
+        return objectMapper.writeValueAsString(new CreateTaskDTO(title, "Description", TaskStatus.TODO, TaskPriority.LOW));
+    }
+
+    @Test
+    void shouldStreamCommittedChangesOfVisibleTasks() throws Exception {
+        MockHttpServletResponse ownerStream = subscribe(ownerToken);
+        MockHttpServletResponse otherStream = subscribe(otherToken);
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, ownerStream.getContentType());
+
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson("My Task")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(created).get("id").asLong();
+        // sent before the update, otherwise the two may reach the stream merged into one created event
+        awaitEvents(ownerStream, 1);
+        mockMvc.perform(put("/api/tasks/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson("Renamed")))
+                .andExpect(status().isOk());
+
+        String events = awaitEvents(ownerStream, 2);
+        assertTrue(events.contains("event:created\ndata:{\"title\":\"My Task\""), events);
+        assertTrue(events.contains("event:updated\ndata:{\"title\":\"Renamed\""), events);
+        assertFalse(otherStream.getContentAsString().contains("event:"), otherStream.getContentAsString());
+    }
+
+    @Test
+    void shouldEndStreamOnceItsTokenIsRevoked() throws Exception {
+        MockHttpServletResponse stream = subscribe(ownerToken);
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + ownerToken))
+                .andExpect(status().isOk());
+        taskFeed.heartbeat();
+
+        String newToken = authHelper.loginAndGetToken("owner@example.com", "password");
+        MockHttpServletResponse newStream = subscribe(newToken);
+        mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson("After logout")))
+                .andExpect(status().isCreated());
+
+        awaitEvents(newStream, 1);
+        assertFalse(stream.getContentAsString().contains("event:"), stream.getContentAsString());
+    }
+
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/tasks/stream")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.taskmanagementsystem.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.config.auth.TokenEpochs;
+import org.example.taskmanagementsystem.config.auth.TokenProvider;
+import org.example.taskmanagementsystem.config.auth.TokenRevocationList;
+import org.example.taskmanagementsystem.config.auth.VerifiedToken;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class TaskFeedTests {
+    private final AuthenticatedUser owner = new AuthenticatedUser(1L, "owner@example.com", UserRole.MEMBER);
+    private final AuthenticatedUser other = new AuthenticatedUser(2L, "other@example.com", UserRole.MEMBER);
+    private final AuthenticatedUser admin = new AuthenticatedUser(3L, "admin@example.com", UserRole.ADMIN);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private MeterRegistry meterRegistry;
+    private TokenProvider tokenProvider;
+    private TokenRevocationList tokenRevocationList;
+    private TokenEpochs tokenEpochs;
+    // drains handed to the sender, run by the test to stand in for a subscriber that is slow to read
+    private final List<Runnable> sends = new ArrayList<>();
+
+    private static GetTaskDTO task(long id, String title, String ownerEmail) {
+        return new GetTaskDTO(id, title, "Description", TaskStatus.TODO, TaskPriority.LOW, ownerEmail);
+    }
+
+    private TaskFeed newFeed(int maxSubscribers, int bufferSize) {
+        return new TaskFeed(meterRegistry, tokenProvider, tokenRevocationList, tokenEpochs, maxSubscribers, bufferSize,
+                sends::add, Duration.ofMinutes(30));
+    }
+
+    // Subscribes with the token "<email>:<epoch>", issued in epoch 1 and expiring at expiresAt
+    private void register(TaskFeed feed, AuthenticatedUser user, SseEmitter emitter, Instant expiresAt) {
+        String token = user.email() + ":1";
+        Mockito.when(tokenProvider.validateToken(token)).thenReturn(new VerifiedToken(user.email(), user, 1, expiresAt));
+        feed.register(user, token, emitter);
+    }
+
+    private void register(TaskFeed feed, AuthenticatedUser user, SseEmitter emitter) {
+        register(feed, user, emitter, Instant.now().plusSeconds(3600));
+    }
+
+    private void runSends() {
+        while (!sends.isEmpty()) {
+            sends.remove(0).run();
+        }
+    }
+
+    // Keeps what is sent as SSE text instead of writing it to a response
+    private class RecordingEmitter extends SseEmitter {
+        private final StringBuilder sent = new StringBuilder();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType data : builder.build()) {
+                try {
+                    sent.append(data.getData() instanceof String text ? text : objectMapper.writeValueAsString(data.getData()));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = Mockito.mock(TokenProvider.class);
+        tokenRevocationList = Mockito.mock(TokenRevocationList.class);
+        tokenEpochs = Mockito.mock(TokenEpochs.class);
+        Mockito.when(tokenEpochs.isCurrent(anyLong(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void shouldCoalesceConsecutiveChangesOfATask() {
+        GetTaskDTO first = task(1, "First", "owner@example.com");
+        GetTaskDTO second = task(1, "Second", "owner@example.com");
+        GetTaskDTO third = task(1, "Third", "owner@example.com");
+
+        assertEquals(TaskEvent.created(second), TaskFeed.coalesce(TaskEvent.created(first), TaskEvent.updated(first, second)));
+        assertEquals(TaskEvent.updated(first, third),
+                TaskFeed.coalesce(TaskEvent.updated(first, second), TaskEvent.updated(second, third)));
+        assertEquals(TaskEvent.deleted(second), TaskFeed.coalesce(TaskEvent.updated(first, second), TaskEvent.deleted(second)));
+        assertNull(TaskFeed.coalesce(TaskEvent.created(first), TaskEvent.deleted(first)));
+    }
+
+    @Test
+    void slowSubscriberShouldGetLatestStateOfEachTask() {
+        TaskFeed feed = newFeed(10, 100);
+        RecordingEmitter emitter = new RecordingEmitter();
+        register(feed, owner, emitter);
+
+        // all committed before the subscriber's sender gets to run
+        GetTaskDTO draft = task(1, "Draft", "owner@example.com");
+        GetTaskDTO review = task(1, "Review", "owner@example.com");
+        GetTaskDTO done = task(1, "Done", "owner@example.com");
+        feed.onTaskEvent(TaskEvent.created(draft));
+        feed.onTaskEvent(TaskEvent.updated(draft, review));
+        feed.onTaskEvent(TaskEvent.updated(review, done));
+        feed.onTaskEvent(TaskEvent.created(task(2, "Kept", "owner@example.com")));
+        feed.onTaskEvent(TaskEvent.created(task(3, "Gone", "owner@example.com")));
+        feed.onTaskEvent(TaskEvent.deleted(task(3, "Gone", "owner@example.com")));
+        assertEquals(1, sends.size());
+        runSends();
+
+        String sent = emitter.sent.toString();
+        assertTrue(sent.startsWith("event:created\ndata:{\"title\":\"Done\""), sent);
+        assertTrue(sent.contains("event:created\ndata:{\"title\":\"Kept\""), sent);
+        assertEquals(2, sent.split("event:").length - 1, sent);
+        assertEquals(3, meterRegistry.get("task.feed.coalesced").counter().count());
+
+        feed.onTaskEvent(TaskEvent.deleted(done));
+        runSends();
+        assertTrue(emitter.sent.toString().endsWith("event:deleted\ndata:{\"id\":1}\n\n"), emitter.sent.toString());
+    }
+
+    @Test
+    void subscribersShouldOnlyGetTasksTheyMaySee() {
+        TaskFeed feed = newFeed(10, 100);
+        RecordingEmitter ownerEmitter = new RecordingEmitter();
+        RecordingEmitter otherEmitter = new RecordingEmitter();
+        RecordingEmitter adminEmitter = new RecordingEmitter();
+        register(feed, owner, ownerEmitter);
+        register(feed, other, otherEmitter);
+        register(feed, admin, adminEmitter);
+
+        feed.onTaskEvent(TaskEvent.created(task(1, "Mine", "owner@example.com")));
+        feed.onTaskEvent(TaskEvent.deleted(task(2, "Also mine", "owner@example.com")));
+        runSends();
+
+        assertEquals(2, ownerEmitter.sent.toString().split("event:").length - 1);
+        assertEquals("", otherEmitter.sent.toString());
+        assertEquals(ownerEmitter.sent.toString(), adminEmitter.sent.toString());
+    }
+
+    @Test
+    void subscriberFallingTooFarBehindShouldBeDisconnected() {
+        TaskFeed feed = newFeed(10, 2);
+        RecordingEmitter emitter = new RecordingEmitter();
+        register(feed, owner, emitter);
+
+        for (long id = 1; id <= 3; id++) {
+            feed.onTaskEvent(TaskEvent.created(task(id, "Task " + id, "owner@example.com")));
+        }
+        runSends();
+
+        assertEquals(0, feed.subscriberCount());
+        assertTrue(emitter.completed);
+        assertEquals("", emitter.sent.toString());
+        assertEquals(1, meterRegistry.get("task.feed.dropped").counter().count());
+    }
+
+    @Test
+    void idleSubscribersShouldGetHeartbeats() {
+        TaskFeed feed = newFeed(10, 100);
+        RecordingEmitter emitter = new RecordingEmitter();
+        register(feed, owner, emitter);
+
+        feed.heartbeat();
+        runSends();
+        assertEquals(":heartbeat\n\n", emitter.sent.toString());
+
+        // a pending change goes out in place of the heartbeat
+        feed.onTaskEvent(TaskEvent.created(task(1, "Task", "owner@example.com")));
+        feed.heartbeat();
+        runSends();
+        assertEquals(1, emitter.sent.toString().split(":heartbeat").length - 1);
+    }
+
+    @Test
+    void heartbeatShouldEndStreamsWhoseTokenIsNoLongerValid() {
+        TaskFeed feed = newFeed(10, 100);
+        RecordingEmitter loggedOut = new RecordingEmitter();
+        RecordingEmitter revokedByEpoch = new RecordingEmitter();
+        RecordingEmitter expired = new RecordingEmitter();
+        RecordingEmitter valid = new RecordingEmitter();
+        register(feed, owner, loggedOut);
+        register(feed, other, revokedByEpoch);
+        register(feed, admin, expired, Instant.now().minusSeconds(1));
+        AuthenticatedUser member = new AuthenticatedUser(4L, "member@example.com", UserRole.MEMBER);
+        register(feed, member, valid);
+
+        Mockito.when(tokenRevocationList.isRevoked(anyString())).thenReturn(false);
+        Mockito.when(tokenRevocationList.isRevoked("owner@example.com:1")).thenReturn(true);
+        Mockito.when(tokenEpochs.isCurrent(2L, 1L)).thenReturn(false);
+        feed.heartbeat();
+        runSends();
+
+        assertEquals(1, feed.subscriberCount());
+        assertTrue(loggedOut.completed && revokedByEpoch.completed && expired.completed);
+        assertEquals("", loggedOut.sent.toString() + revokedByEpoch.sent + expired.sent);
+        assertFalse(valid.completed);
+        assertEquals(":heartbeat\n\n", valid.sent.toString());
+    }
+
+    @Test
+    void shouldRejectSubscribersBeyondMax() {
+        TaskFeed feed = newFeed(1, 100);
+        register(feed, owner, new RecordingEmitter());
+
+        assertThrows(ServiceUnavailableException.class, () -> register(feed, other, new RecordingEmitter()));
+        assertEquals(1, meterRegistry.get("task.feed.subscribers").gauge().value());
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.taskmanagementsystem.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.IdempotencyKey;
+import org.example.taskmanagementsystem.repository.IdempotencyKeyRepository;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Not @Transactional: stored responses and tasks must commit to be seen by concurrent requests
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class IdempotencyIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        token = authHelper.loginAndGetToken("owner@example.com", "password");
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyKeyRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private MockHttpServletResponse createTask(String key, String title) throws Exception {
+        return mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskDTO(title, "Description", TaskStatus.TODO, TaskPriority.LOW))))
+                .andReturn().getResponse();
+    }
+
+    @Test
+    void shouldReplayResponseOfRetriedRequest() throws Exception {
+        MockHttpServletResponse first = createTask("retry-1", "My Task");
+        MockHttpServletResponse retry = createTask("retry-1", "My Task");
+
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(1, taskRepository.count());
+
+        assertEquals(201, createTask("retry-2", "My Task").getStatus());
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() throws Exception {
+        assertEquals(201, createTask("reused", "My Task").getStatus());
+
+        MockHttpServletResponse reused = createTask("reused", "Another Task");
+        assertEquals(422, reused.getStatus());
+        assertTrue(reused.getContentAsString().contains("different request"));
+        assertEquals(400, createTask(" ", "My Task").getStatus());
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void shouldExecuteConcurrentRequestsWithSameKeyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            Callable<MockHttpServletResponse> request = () -> createTask("concurrent", "My Task");
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(request));
+            }
+            String body = null;
+            for (Future<MockHttpServletResponse> response : responses) {
+                MockHttpServletResponse result = response.get(30, TimeUnit.SECONDS);
+                assertEquals(201, result.getStatus());
+                if (body == null) {
+                    body = result.getContentAsString();
+                }
+                assertEquals(body, result.getContentAsString());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void shouldReplayFromTableAndPurgeExpiredKeys() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        idempotencyKeyRepository.save(new StoredResponse("abc", 201, MediaType.APPLICATION_JSON_VALUE, null, body,
+                Instant.now().plusSeconds(60)).toKey("owner@example.com:stored"));
+        idempotencyKeyRepository.save(new StoredResponse("abc", 201, MediaType.APPLICATION_JSON_VALUE, null, body,
+                Instant.now().minusSeconds(60)).toKey("owner@example.com:expired"));
+
+        assertTrue(idempotencyStore.find("owner@example.com:stored").isPresent());
+        assertTrue(idempotencyStore.find("owner@example.com:expired").isEmpty());
+
+        idempotencyStore.purgeExpired();
+        assertEquals(List.of("owner@example.com:stored"),
+                idempotencyKeyRepository.findAll().stream().map(IdempotencyKey::getId).toList());
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.taskmanagementsystem.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskTicketDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.TicketStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the writer commits on its own thread, outside the test's transaction
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskIngestionIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private TaskTicketDTO getTicket(String location, String token) throws Exception {
+        String body = mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TaskTicketDTO.class);
+    }
+
+    @Test
+    void shouldCreateQueuedTaskForItsOwner() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        authHelper.registerUser("other", "other@example.com", "password", UserRole.MEMBER);
+        String token = authHelper.loginAndGetToken("owner@example.com", "password");
+        String otherToken = authHelper.loginAndGetToken("other@example.com", "password");
+
+        String location = mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskDTO("Queued", "Description", TaskStatus.TODO, TaskPriority.LOW))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        TaskTicketDTO ticket = getTicket(location, token);
+        for (int i = 0; i < 200 && ticket.status() == TicketStatus.PENDING; i++) {
+            Thread.sleep(10);
+            ticket = getTicket(location, token);
+        }
+        assertEquals(TicketStatus.CREATED, ticket.status());
+
+        mockMvc.perform(get("/api/tasks/{id}", ticket.taskId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Queued"))
+                .andExpect(jsonPath("$.ownerEmail").value("owner@example.com"));
+        mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+}
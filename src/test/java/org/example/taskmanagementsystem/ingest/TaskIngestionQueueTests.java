@@ -0,0 +1,176 @@
+package org.example.taskmanagementsystem.ingest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.BulkItemResult;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskTicketDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.TicketStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.exception.ServiceUnavailableException;
+import org.example.taskmanagementsystem.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+
+public class TaskIngestionQueueTests {
+    private final AuthenticatedUser owner = new AuthenticatedUser(1L, "owner@example.com", UserRole.MEMBER);
+    private final AuthenticatedUser other = new AuthenticatedUser(2L, "other@example.com", UserRole.MEMBER);
+    private final AuthenticatedUser admin = new AuthenticatedUser(3L, "admin@example.com", UserRole.ADMIN);
+
+    private TaskService taskService;
+    private MeterRegistry meterRegistry;
+    private TaskIngestionQueue queue;
+    // sizes of the groups handed to createTasksFor
+    private final List<Integer> groups = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private static CreateTaskDTO task(String title) {
+        return new CreateTaskDTO(title, "Description", TaskStatus.TODO, TaskPriority.LOW);
+    }
+
+    private TaskIngestionQueue newQueue(int capacity, int maxBatch, Duration maxWait) {
+        return new TaskIngestionQueue(taskService, meterRegistry, capacity, maxBatch, maxWait, Duration.ofHours(1));
+    }
+
+    private TaskTicketDTO await(UUID ticket, AuthenticatedUser requester) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            TaskTicketDTO state = queue.getTicket(ticket, requester).orElseThrow();
+            if (state.status() != TicketStatus.PENDING) {
+                return state;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("ticket " + ticket + " still pending");
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        taskService = Mockito.mock(TaskService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // answers like the real service: 400 for tasks without a title, 201 with a new id otherwise
+        Mockito.when(taskService.createTasksFor(anyList(), anyList())).thenAnswer(invocation -> {
+            List<CreateTaskDTO> tasks = invocation.getArgument(1);
+            groups.add(tasks.size());
+            List<BulkItemResult> results = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                CreateTaskDTO task = tasks.get(i);
+                if (task.getTitle() == null) {
+                    results.add(BulkItemResult.failure(i, 400, null, "Invalid value for field: title"));
+                } else {
+                    results.add(BulkItemResult.success(i, 201, new GetTaskDTO(ids.incrementAndGet(), task.getTitle(),
+                            task.getDescription(), task.getStatus(), task.getPriority(), "owner@example.com")));
+                }
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void shouldCommitQueuedTasksTogether() throws InterruptedException {
+        queue = newQueue(100, 500, Duration.ofMillis(50));
+        List<UUID> tickets = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tickets.add(queue.submit(task("Task " + i), owner).ticket());
+        }
+        tickets.add(queue.submit(task(null), owner).ticket());
+
+        // queued before the writer starts, so they all fit into one group
+        queue.start();
+        for (UUID ticket : tickets.subList(0, 30)) {
+            TaskTicketDTO state = await(ticket, owner);
+            assertEquals(TicketStatus.CREATED, state.status());
+            assertTrue(state.taskId() != null);
+        }
+        TaskTicketDTO invalid = await(tickets.get(30), owner);
+        assertEquals(TicketStatus.FAILED, invalid.status());
+        assertEquals("Invalid value for field: title", invalid.error());
+
+        // metrics are recorded once the tickets are resolved, the writer is done after stop()
+        queue.stop();
+        assertEquals(List.of(31), groups);
+        assertEquals(1, meterRegistry.get("task.ingest.commit").timer().count());
+        assertEquals(31, meterRegistry.get("task.ingest.group.size").summary().totalAmount());
+    }
+
+    @Test
+    void shouldCloseGroupsAtMaxBatch() throws InterruptedException {
+        queue = newQueue(100, 10, Duration.ofSeconds(10));
+        List<UUID> tickets = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            tickets.add(queue.submit(task("Task " + i), owner).ticket());
+        }
+
+        queue.start();
+        for (UUID ticket : tickets.subList(0, 20)) {
+            assertEquals(TicketStatus.CREATED, await(ticket, owner).status());
+        }
+        // the last 5 wait for their group to fill until max-wait, stopping the queue flushes them
+        queue.stop();
+        assertEquals(TicketStatus.CREATED, queue.getTicket(tickets.get(24), owner).orElseThrow().status());
+        assertEquals(List.of(10, 10, 5), groups);
+    }
+
+    @Test
+    void shouldRejectTasksWhenQueueIsFull() {
+        queue = newQueue(2, 500, Duration.ofMillis(50));
+        queue.submit(task("Task 1"), owner);
+        queue.submit(task("Task 2"), owner);
+
+        assertThrows(ServiceUnavailableException.class, () -> queue.submit(task("Task 3"), owner));
+        assertEquals(2, meterRegistry.get("task.ingest.queue.depth").gauge().value());
+    }
+
+    @Test
+    void shouldCommitOneByOneWhenGroupFails() throws InterruptedException {
+        // the group fails on a database error, retried alone only the broken task fails
+        Mockito.when(taskService.createTasksFor(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("constraint violated"))
+                .thenReturn(List.of(BulkItemResult.success(0, 201, new GetTaskDTO(1L, "Task 1", "Description",
+                        TaskStatus.TODO, TaskPriority.LOW, "owner@example.com"))))
+                .thenThrow(new IllegalStateException("constraint violated"));
+        queue = newQueue(100, 500, Duration.ofMillis(50));
+        UUID good = queue.submit(task("Task 1"), owner).ticket();
+        UUID bad = queue.submit(task("Task 2"), owner).ticket();
+
+        queue.start();
+        assertEquals(TaskTicketDTO.created(good, 1L), await(good, owner));
+        assertEquals(TicketStatus.FAILED, await(bad, owner).status());
+    }
+
+    @Test
+    void ticketsShouldOnlyBeVisibleToTheirOwnerAndAdmins() {
+        queue = newQueue(100, 500, Duration.ofMillis(50));
+        UUID ticket = queue.submit(task("Task 1"), owner).ticket();
+
+        assertTrue(queue.getTicket(ticket, owner).isPresent());
+        assertTrue(queue.getTicket(ticket, admin).isPresent());
+        assertTrue(queue.getTicket(ticket, other).isEmpty());
+        assertTrue(queue.getTicket(UUID.randomUUID(), owner).isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "security.rate-limit.enabled=true",
+        "security.rate-limit.address-routes=GET /api/tasks/**=6/1h",
+        "security.rate-limit.routes=POST /auth/login=3/1h,GET /api/tasks/**=2/1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldLimitLoginsPerClientAddress() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("email", "nobody@example.com", "password", "wrong"));
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            mockMvc.perform(post("/auth/login").with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string("RateLimit-Limit", "3"))
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)));
+        }
+
+        mockMvc.perform(post("/auth/login").with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+        // another address is not affected
+        mockMvc.perform(post("/auth/login").with(request -> { request.setRemoteAddr("10.0.0.2"); return request; })
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldLimitRevokedTokensPerClientAddressBeforeCheckingThem() throws Exception {
+        authHelper.registerUser("revoked", "revoked@example.com", "password", UserRole.MEMBER);
+        String token = authHelper.loginAndGetToken("revoked@example.com", "password");
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        for (int remaining = 5; remaining >= 0; remaining--) {
+            mockMvc.perform(get("/api/tasks").with(request -> { request.setRemoteAddr("10.0.0.3"); return request; })
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)));
+        }
+        mockMvc.perform(get("/api/tasks").with(request -> { request.setRemoteAddr("10.0.0.3"); return request; })
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldLimitAuthenticatedRequestsPerUser() throws Exception {
+        authHelper.registerUser("first", "first@example.com", "password", UserRole.MEMBER);
+        authHelper.registerUser("second", "second@example.com", "password", UserRole.MEMBER);
+        String first = authHelper.loginAndGetToken("first@example.com", "password");
+        String second = authHelper.loginAndGetToken("second@example.com", "password");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, "Bearer " + first))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, "Bearer " + first))
+                .andExpect(status().isTooManyRequests());
+
+        // same address, but counted for the other user
+        mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, "Bearer " + second))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        // the address stage counts every request to the route
+        mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, "Bearer " + second))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+        // routes without a rule are not limited
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + first))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+    }
+}
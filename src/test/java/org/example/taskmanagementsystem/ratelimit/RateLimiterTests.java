@@ -0,0 +1,98 @@
+package org.example.taskmanagementsystem.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTests {
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final RateLimiter rateLimiter = new RateLimiter(1000, clock::get);
+    private final RateLimitRule rule = RateLimitRule.parse("POST /auth/login=3/3s");
+
+    @Test
+    void shouldAllowBurstUpToLimitThenRefuse() {
+        assertEquals(new RateLimiter.Decision(true, 3, 2, 1, 0), rateLimiter.tryAcquire("login", "ip:a", rule));
+        assertEquals(new RateLimiter.Decision(true, 3, 1, 2, 0), rateLimiter.tryAcquire("login", "ip:a", rule));
+        assertEquals(new RateLimiter.Decision(true, 3, 0, 3, 0), rateLimiter.tryAcquire("login", "ip:a", rule));
+
+        RateLimiter.Decision refused = rateLimiter.tryAcquire("login", "ip:a", rule);
+        assertFalse(refused.allowed());
+        assertEquals(1, refused.retryAfterSeconds());
+        // other clients have their own bucket
+        assertTrue(rateLimiter.tryAcquire("login", "ip:b", rule).allowed());
+    }
+
+    @Test
+    void shouldRefillOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("login", "user:1", rule);
+        }
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("login", "user:1", rule);
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+        assertFalse(rateLimiter.tryAcquire("login", "user:1", rule).allowed());
+
+        // idle for a whole period, the bucket is full again
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertEquals(2, rateLimiter.tryAcquire("login", "user:1", rule).remaining());
+    }
+
+    @Test
+    void shouldKeepBucketsInDebtAndShareOneBucketPastMaxBuckets() {
+        RateLimiter small = new RateLimiter(2, clock::get);
+        for (int i = 0; i < 3; i++) {
+            small.tryAcquire("login", "ip:a", rule);
+        }
+        small.tryAcquire("login", "ip:b", rule);
+
+        // new clients do not push ip:a out, they share the overflow bucket
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            assertEquals(remaining, small.tryAcquire("login", "ip:" + remaining, rule).remaining());
+        }
+        assertFalse(small.tryAcquire("login", "ip:c", rule).allowed());
+        assertFalse(small.tryAcquire("login", "ip:a", rule).allowed());
+
+        // once idle for a whole period the buckets expire and clients get their own again
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertEquals(2, small.tryAcquire("login", "ip:c", rule).remaining());
+        assertEquals(2, small.tryAcquire("login", "ip:d", rule).remaining());
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanLimitToConcurrentRequests() throws InterruptedException {
+        RateLimitRule hundred = RateLimitRule.parse("* /**=100/1h");
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (rateLimiter.tryAcquire("any", "ip:a", hundred).allowed()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void shouldRejectMalformedRules() {
+        assertEquals(new RateLimitRule("GET", "/api/tasks/**", 300, Duration.ofMinutes(1)),
+                RateLimitRule.parse(" get /api/tasks/** = 300/1m "));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("/api/tasks=300/1m"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("GET /api/tasks=0/1m"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("GET /api/tasks=300"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.taskmanagementsystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvertedIndexTests {
+
+    @Test
+    void tokenizerShouldLowercaseAndDropStopWords() {
+        assertEquals(List.of("fix", "login", "bug", "v2", "api"), Tokenizer.tokenize("Fix the LOGIN bug (v2-API)!"));
+    }
+
+    @Test
+    void shouldOnlyMatchTasksContainingEveryTerm() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "Fix login bug");
+        index.add(2, "Login page redesign");
+        index.add(3, "Fix flaky build");
+
+        assertEquals(List.of(1L), index.search("login fix", 10));
+        assertEquals(List.of(), index.search("login deploy", 10));
+        assertEquals(List.of(), index.search("the", 10));
+    }
+
+    @Test
+    void shouldRankDenserMatchesFirst() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "Database migration plan for the reporting service and its many consumers");
+        index.add(2, "Database outage: database failover, database restore");
+        index.add(3, "Unrelated task");
+
+        assertEquals(List.of(2L, 1L), index.search("database", 10));
+        assertEquals(List.of(2L), index.search("database", 1));
+    }
+
+    @Test
+    void shouldReplaceAndRemoveIndexedText() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "Write release notes");
+        index.add(1, "Write migration guide");
+
+        assertEquals(List.of(), index.search("release", 10));
+        assertEquals(List.of(1L), index.search("migration", 10));
+
+        assertTrue(index.remove(1));
+        assertEquals(List.of(), index.search("write", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldKeepResultsAcrossCompaction() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.add(id, "task number " + id + (id % 2 == 0 ? " even" : " odd"));
+        }
+        // deleting two thirds of the docs triggers compaction of the postings lists
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(1000, index.size());
+        assertEquals(List.of(2500L), index.search("2500 even", 10));
+        assertEquals(500, index.search("odd", 1000).size());
+        assertTrue(index.search("odd", 1000).stream().allMatch(id -> id > 2000 && id % 2 == 1));
+    }
+
+    @Test
+    void shouldIntersectLongPostingsLists() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 5000; id++) {
+            index.add(id, "common" + (id % 7 == 0 ? " seven" : "") + (id % 11 == 0 ? " eleven" : ""));
+        }
+
+        List<Long> hits = index.search("seven eleven common", 1000);
+        assertEquals(5000 / 77, hits.size());
+        assertTrue(hits.stream().allMatch(id -> id % 77 == 0));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.taskmanagementsystem.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Query latency of the search index at 1M synthetic tasks.
+// Run with: java -cp <test classpath> org.openjdk.jmh.Main TaskSearchIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TaskSearchIndexBenchmark {
+    private static final int TASKS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+
+    private InvertedIndex index;
+    private String[] texts;
+
+    @Setup
+    public void buildIndex() {
+        // word frequencies follow a Zipf-like curve, so low numbered words are very common
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        texts = new String[TASKS];
+        StringBuilder text = new StringBuilder();
+        for (long id = 1; id <= TASKS; id++) {
+            text.setLength(0);
+            int words = 8 + random.nextInt(24);
+            for (int i = 0; i < words; i++) {
+                int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+                text.append("w").append(rank).append(' ');
+            }
+            index.add(id, text.toString());
+            texts[(int) id - 1] = " " + text;
+        }
+    }
+
+    // Before the index: a LIKE '%term%' scan over every task's text, all of them since ranking needs every match.
+    // In memory, so a lower bound of the same scan in the database
+    @Benchmark
+    public List<Long> rareTermScan() {
+        List<Long> found = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i].contains(" w15000 ")) {
+                found.add(i + 1L);
+            }
+        }
+        return found.subList(0, Math.min(20, found.size()));
+    }
+
+    // Term in most tasks: the whole postings list is scored
+    @Benchmark
+    public List<Long> commonTerm() {
+        return index.search("w1", 20);
+    }
+
+    @Benchmark
+    public List<Long> mediumTerm() {
+        return index.search("w150", 20);
+    }
+
+    @Benchmark
+    public List<Long> rareTerm() {
+        return index.search("w15000", 20);
+    }
+
+    // Rare term leads the intersection, the common one only skips ahead
+    @Benchmark
+    public List<Long> rareAndCommonTerm() {
+        return index.search("w15000 w1", 20);
+    }
+
+    @Benchmark
+    public List<Long> twoMediumTerms() {
+        return index.search("w150 w300", 20);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.taskmanagementsystem.service;
+
+import org.example.taskmanagementsystem.TaskManagementSystemApplication;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to store a batch of tasks through N single createTask calls versus one createTasks call.
+// Runs against the in-memory H2 of the test profile, which has no network round trip per statement,
+// so the gap it shows is a lower bound of what batching saves against a remote database.
+// Run with: java -cp <test classpath> org.openjdk.jmh.Main TaskBulkBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+// Hibernate's paths take about 10 iterations to settle on one CPU
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBulkBenchmark {
+
+    @Param({"100", "1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private List<CreateTaskDTO> batch;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // as arguments, so they override the property files
+                .run("--security.jwt.token.secret-key=benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--task.bulk.max-items=" + tasks,
+                        "--logging.level.root=WARN",
+                        // test-only beans such as AuthHelper need MockMvc, lazy init leaves them out
+                        "--spring.main.lazy-initialization=true");
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+
+        // JMH may run iterations on different threads than the setup
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        User owner = context.getBean(UserRepository.class)
+                .save(new User("owner", "owner@example.com", "password", UserRole.MEMBER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(owner), null, owner.getAuthorities()));
+
+        batch = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            batch.add(new CreateTaskDTO("Task " + i, "Imported task " + i, TaskStatus.TODO, TaskPriority.MEDIUM));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleCreates() {
+        for (CreateTaskDTO task : batch) {
+            taskService.createTask(task);
+        }
+        return batch.size();
+    }
+
+    @Benchmark
+    public int bulkCreate() {
+        return taskService.createTasks(batch).size();
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.BulkItemResult;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.UpdateTaskItemDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "task.bulk.max-items=150",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TaskBulkIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static List<CreateTaskDTO> newTasks(int count) {
+        List<CreateTaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new CreateTaskDTO("Task " + i, "Description", TaskStatus.TODO, TaskPriority.HIGH));
+        }
+        return tasks;
+    }
+
+    private List<BulkItemResult> perform(MockHttpServletRequestBuilder request, String token, Object body) throws Exception {
+        String response = mockMvc.perform(request
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, new TypeReference<>() {});
+    }
+
+    @Test
+    public void shouldInsertInJdbcBatches() {
+        // flushed now, user ids come from a sequence so the insert would otherwise wait for the tasks' flush
+        User owner = userRepository.saveAndFlush(new User("owner", "owner@example.com", "password", UserRole.MEMBER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(owner), null, owner.getAuthorities()));
+        List<CreateTaskDTO> tasks = newTasks(120);
+        tasks.set(7, new CreateTaskDTO("No status", "Description", null, TaskPriority.LOW));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BulkItemResult> results = taskService.createTasks(tasks);
+
+        assertEquals(120, results.size());
+        assertEquals(400, results.get(7).status());
+        assertEquals(119, results.stream().filter(result -> result.status() == 201).count());
+        assertEquals(119, statistics.getEntityInsertCount());
+        // 3 insert batches plus 3 sequence calls, instead of one statement per task
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(119, taskRepository.count());
+    }
+
+    @Test
+    public void shouldReportEachEntryOfBulkUpdateAndDelete() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        authHelper.registerUser("other", "other@example.com", "password", UserRole.MEMBER);
+        String ownerToken = authHelper.loginAndGetToken("owner@example.com", "password");
+        String otherToken = authHelper.loginAndGetToken("other@example.com", "password");
+
+        Long ownTask = perform(post("/api/tasks/bulk"), ownerToken, newTasks(1)).get(0).id();
+        Long otherTask = perform(post("/api/tasks/bulk"), otherToken, newTasks(1)).get(0).id();
+
+        List<BulkItemResult> updated = perform(put("/api/tasks/bulk"), ownerToken, List.of(
+                new UpdateTaskItemDTO(ownTask, "Updated", "Description", TaskStatus.DONE, TaskPriority.LOW),
+                new UpdateTaskItemDTO(otherTask, "Hacked", "Description", TaskStatus.DONE, TaskPriority.LOW),
+                new UpdateTaskItemDTO(-1L, "Missing", "Description", TaskStatus.DONE, TaskPriority.LOW),
+                new UpdateTaskItemDTO(ownTask, "No priority", "Description", TaskStatus.DONE, null)));
+        assertEquals(List.of(200, 403, 404, 400), updated.stream().map(BulkItemResult::status).toList());
+        assertEquals("Updated", updated.get(0).task().getTitle());
+        assertEquals("Task 0", taskRepository.findById(otherTask).orElseThrow().getTitle());
+
+        List<BulkItemResult> deleted = perform(delete("/api/tasks/bulk"), ownerToken, Arrays.asList(otherTask, ownTask, -1L));
+        assertEquals(List.of(403, 204, 404), deleted.stream().map(BulkItemResult::status).toList());
+        assertTrue(taskRepository.findById(ownTask).isEmpty());
+        assertTrue(taskRepository.findById(otherTask).isPresent());
+    }
+
+    @Test
+    public void shouldRejectEmptyAndOversizedBulkRequests() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        String token = authHelper.loginAndGetToken("owner@example.com", "password");
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTasks(151))))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.taskmanagementsystem.cache.TaskCache;
+import org.example.taskmanagementsystem.config.auth.AuthenticatedUser;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.exception.PreconditionFailedException;
+import org.example.taskmanagementsystem.exception.ResourceNotFoundException;
+import org.example.taskmanagementsystem.model.Task;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.example.taskmanagementsystem.stats.TaskStatistics;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not @Transactional: the writes have to commit for other transactions to see them.
+// Two threads patching in a tight loop collide far more often than clients do, hence the extra attempts.
+@SpringBootTest(properties = {
+        "task.update.max-attempts=10",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskConcurrentUpdateIntegrationTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    private User owner;
+    private Long taskId;
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(owner), null, owner.getAuthorities()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("owner", "owner@example.com", "password", UserRole.MEMBER));
+        authenticate();
+        taskId = taskService.createTask(new CreateTaskDTO("My Task", "Description", TaskStatus.TODO, TaskPriority.HIGH)).getId();
+        // the counters are shared with earlier tests, whose cleanup bypassed them
+        taskStatistics.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private long statementsOf(Runnable write) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        write.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void shouldWriteCachedTaskWithOneStatement() {
+        CreateTaskDTO update = new CreateTaskDTO("Updated", "Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        taskCache.get(taskId);
+        assertEquals(1, statementsOf(() -> taskService.updateTask(taskId, update, null)));
+        assertEquals("\"1\"", taskCache.get(taskId).orElseThrow().getETag());
+        assertEquals(1, statementsOf(() -> taskService.deleteTask(taskId)));
+        assertTrue(taskRepository.findById(taskId).isEmpty());
+    }
+
+    @Test
+    void shouldReadTaskWhenCachedVersionIsOutdated() {
+        taskCache.get(taskId);
+        // a write the cache is not told about, e.g. from another instance
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> taskRepository.updateIfPermitted(
+                taskId, 0L, owner.getId(), false, "Elsewhere", "Description", TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDateTime.now()));
+        taskStatistics.reconcile();
+        CreateTaskDTO update = new CreateTaskDTO("Updated", "Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        // the cached tag matches If-Match, the table does not
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(taskId, update, "\"0\""));
+
+        GetTaskDTO updated = taskService.updateTask(taskId, update, null);
+        assertEquals("Updated", updated.getTitle());
+        assertEquals(2L, updated.getVersion());
+        assertEquals(2L, taskRepository.findById(taskId).orElseThrow().getVersion());
+        // counted from the state the table had, not the cached one
+        assertEquals(0L, taskStatistics.forOwner("owner@example.com").byStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1L, taskStatistics.forOwner("owner@example.com").byStatus().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void shouldLockAndReadUncachedTaskBeforeWriting() {
+        CreateTaskDTO update = new CreateTaskDTO("Updated", "Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        // the locked read, then the UPDATE
+        assertEquals(2, statementsOf(() -> {
+            GetTaskDTO updated = taskService.updateTask(taskId, update, "\"0\"");
+            assertEquals("\"1\"", updated.getETag());
+            assertEquals("owner@example.com", updated.getOwnerEmail());
+        }));
+        assertEquals(1L, taskStatistics.forOwner("owner@example.com").byStatus().get(TaskStatus.DONE));
+        assertEquals(2, statementsOf(() -> taskService.deleteTask(taskId)));
+        assertTrue(taskRepository.findById(taskId).isEmpty());
+        assertEquals(0, taskStatistics.forOwner("owner@example.com").total());
+    }
+
+    @Test
+    void refusedWritesShouldOnlyReadTheTask() {
+        CreateTaskDTO update = new CreateTaskDTO("Updated", "Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        assertEquals(1, statementsOf(() -> assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(taskId, update, "\"7\""))));
+        assertEquals(1, statementsOf(() -> assertThrows(ResourceNotFoundException.class,
+                () -> taskService.deleteTask(taskId + 1))));
+    }
+
+    @Test
+    void deleteOfOutdatedCachedTaskShouldCountTheStateDeleted() {
+        taskCache.get(taskId);
+        // an update the cache is not told about, the cached task is a version behind
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> taskRepository.updateIfPermitted(
+                taskId, 0L, owner.getId(), false, "Elsewhere", "Description", TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDateTime.now()));
+        taskStatistics.reconcile();
+
+        // the DELETE guarded by the cached version, the locked read, then the DELETE of what was read
+        assertEquals(3, statementsOf(() -> taskService.deleteTask(taskId)));
+        assertTrue(taskRepository.findById(taskId).isEmpty());
+        assertEquals(0, taskStatistics.forOwner("owner@example.com").total());
+        assertEquals(0L, taskStatistics.forOwner("owner@example.com").byStatus().get(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldRetryConcurrentPatchesOfDifferentFields() throws Exception {
+        int patches = 15;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> writers = List.of("title", "description").stream()
+                    .<Future<?>>map(field -> executor.submit(() -> {
+                        authenticate();
+                        for (int i = 0; i < patches; i++) {
+                            taskService.patchTask(taskId, objectMapper.createObjectNode().put(field, field + " " + i), null);
+                        }
+                        return null;
+                    }))
+                    .toList();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        Task stored = taskRepository.findWithOwnerById(taskId).orElseThrow();
+        assertEquals("title " + (patches - 1), stored.getTitle());
+        assertEquals("description " + (patches - 1), stored.getDescription());
+        // every patch was applied exactly once, none was lost to a concurrent one
+        assertEquals(2L * patches, stored.getVersion());
+    }
+}
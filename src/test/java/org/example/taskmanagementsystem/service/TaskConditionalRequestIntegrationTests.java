@@ -0,0 +1,110 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TaskConditionalRequestIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    private String token;
+
+    private Long createTask() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        token = authHelper.loginAndGetToken("owner@example.com", "password");
+
+        String body = mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskDTO("My Task", "Description", TaskStatus.TODO, TaskPriority.HIGH))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, GetTaskDTO.class).getId();
+    }
+
+    private String getETag(Long id) throws Exception {
+        return mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    public void shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        Long id = createTask();
+        String etag = getETag(id);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"999\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void shouldOnlyUpdateWhenIfMatchIsCurrent() throws Exception {
+        Long id = createTask();
+        String etag = getETag(id);
+        CreateTaskDTO update = new CreateTaskDTO("Updated Task", "New Description", TaskStatus.DONE, TaskPriority.LOW);
+
+        String newETag = mockMvc.perform(put("/api/tasks/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated Task"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // the tag returned by the write is the one later reads compute from the stored row
+        assertNotEquals(etag, newETag);
+        assertEquals(newETag, getETag(id));
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, "W/" + newETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
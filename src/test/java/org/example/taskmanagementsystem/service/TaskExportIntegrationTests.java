@@ -0,0 +1,60 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.example.taskmanagementsystem.model.Task;
+import org.example.taskmanagementsystem.model.User;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.example.taskmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TaskExportIntegrationTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void shouldWriteOneJsonLinePerTask() throws Exception {
+        User owner = userRepository.save(new User("owner", "owner@example.com", "password", UserRole.MEMBER));
+        for (int i = 1; i <= 3; i++) {
+            taskRepository.save(new Task(null, "Task " + i, "Description", TaskStatus.TODO, TaskPriority.HIGH, null, null, owner));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            GetTaskDTO task = objectMapper.readValue(lines[i], GetTaskDTO.class);
+            assertEquals("Task " + (i + 1), task.getTitle());
+            assertEquals("owner@example.com", task.getOwnerEmail());
+        }
+    }
+}
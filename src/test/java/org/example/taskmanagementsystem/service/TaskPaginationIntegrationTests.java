@@ -0,0 +1,189 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskFilter;
+import org.example.taskmanagementsystem.dto.task.TaskPage;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "task.page.max-size=2",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TaskPaginationIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private void createTasks(int count) throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        String token = authHelper.loginAndGetToken("owner@example.com", "password");
+
+        for (int i = 1; i <= count; i++) {
+            createTask(token, new CreateTaskDTO("Task " + i, "Description", TaskStatus.TODO, TaskPriority.HIGH));
+        }
+    }
+
+    private void createTask(String token, CreateTaskDTO task) throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated());
+    }
+
+    private String nextUrl(MvcResult result) {
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        return link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+    }
+
+    @Test
+    public void shouldWalkAllPagesThroughNextLinks() throws Exception {
+        createTasks(3);
+
+        // Requested size is capped at the configured max of 2
+        MvcResult firstPage = mockMvc.perform(get("/api/tasks?size=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                .andExpect(jsonPath("$[1].title").value("Task 2"))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn();
+
+        mockMvc.perform(get(nextUrl(firstPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Task 3"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void shouldRejectInvalidCursorAndSize() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldReadPageAndTaskWithOwnerInOneStatement() throws Exception {
+        createTasks(2);
+
+        // start from an empty persistence context so owners would have to be lazy loaded,
+        // flushing first since sequence ids leave the inserts pending until then
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskPage page = taskService.getTasks(TaskFilter.NONE, null, null, 2);
+        assertEquals(2, page.tasks().size());
+        assertEquals("owner@example.com", page.tasks().get(1).getOwnerEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals("owner@example.com", taskService.getTaskById(page.tasks().get(0).getId()).orElseThrow().getOwnerEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void shouldFilterByStatusPriorityAndOwner() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        authHelper.registerUser("other", "other@example.com", "password", UserRole.MEMBER);
+        String ownerToken = authHelper.loginAndGetToken("owner@example.com", "password");
+        String otherToken = authHelper.loginAndGetToken("other@example.com", "password");
+
+        createTask(ownerToken, new CreateTaskDTO("Owner todo high", "Description", TaskStatus.TODO, TaskPriority.HIGH));
+        createTask(ownerToken, new CreateTaskDTO("Owner done high", "Description", TaskStatus.DONE, TaskPriority.HIGH));
+        createTask(ownerToken, new CreateTaskDTO("Owner todo low", "Description", TaskStatus.TODO, TaskPriority.LOW));
+        createTask(otherToken, new CreateTaskDTO("Other todo high", "Description", TaskStatus.TODO, TaskPriority.HIGH));
+
+        mockMvc.perform(get("/api/tasks?status=TODO&priority=HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Owner todo high"))
+                .andExpect(jsonPath("$[1].title").value("Other todo high"));
+
+        mockMvc.perform(get("/api/tasks?status=TODO&ownerEmail=owner@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Owner todo high"))
+                .andExpect(jsonPath("$[1].title").value("Owner todo low"));
+    }
+
+    @Test
+    public void shouldPageThroughSortedTasks() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        String token = authHelper.loginAndGetToken("owner@example.com", "password");
+
+        createTask(token, new CreateTaskDTO("Medium", "Description", TaskStatus.TODO, TaskPriority.MEDIUM));
+        createTask(token, new CreateTaskDTO("Low", "Description", TaskStatus.TODO, TaskPriority.LOW));
+        createTask(token, new CreateTaskDTO("High", "Description", TaskStatus.TODO, TaskPriority.HIGH));
+
+        // priorities sort by urgency, not by name
+        MvcResult firstPage = mockMvc.perform(get("/api/tasks?sort=-priority"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("High"))
+                .andExpect(jsonPath("$[1].title").value("Medium"))
+                .andReturn();
+
+        mockMvc.perform(get(nextUrl(firstPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Low"));
+
+        // a cursor only continues the order it was issued for
+        String cursor = nextUrl(firstPage).replaceAll(".*cursor=", "");
+        mockMvc.perform(get("/api/tasks?sort=priority&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks?sort=unknown"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks?priority=URGENT"))
+                .andExpect(status().isBadRequest());
+    }
+}
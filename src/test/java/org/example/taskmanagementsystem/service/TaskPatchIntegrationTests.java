@@ -0,0 +1,161 @@
+package org.example.taskmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskmanagementsystem.auth.AuthHelper;
+import org.example.taskmanagementsystem.dto.task.CreateTaskDTO;
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.enums.UserRole;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.taskmanagementsystem.service.TaskPatchIntegrationTests$RecordingStatementInspector")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TaskPatchIntegrationTests {
+
+    // Collects the SQL Hibernate sends, so tests can check which columns an UPDATE sets
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthHelper authHelper;
+
+    private String token;
+
+    private Long createTask() throws Exception {
+        authHelper.registerUser("owner", "owner@example.com", "password", UserRole.MEMBER);
+        token = authHelper.loginAndGetToken("owner@example.com", "password");
+
+        String body = mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTaskDTO("My Task", "Description", TaskStatus.TODO, TaskPriority.HIGH))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, GetTaskDTO.class).getId();
+    }
+
+    private ResultActions patchTask(Long id, String patch) throws Exception {
+        return mockMvc.perform(patch("/api/tasks/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MERGE_PATCH)
+                .content(patch));
+    }
+
+    @Test
+    public void shouldOnlyChangePatchedFields() throws Exception {
+        Long id = createTask();
+
+        RecordingStatementInspector.statements.clear();
+        patchTask(id, "{\"status\": \"IN_PROGRESS\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("My Task"))
+                .andExpect(jsonPath("$.description").value("Description"))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.priority").value("HIGH"));
+
+        List<String> updates = RecordingStatementInspector.statements.stream()
+                .filter(sql -> sql.startsWith("update tasks")).toList();
+        assertEquals(1, updates.size());
+        String update = updates.get(0);
+        assertTrue(update.contains("status=?"), update);
+        assertFalse(update.contains("title=?") || update.contains("description=?") || update.contains("priority=?"), update);
+
+        patchTask(id, "{\"description\": null, \"title\": \"Renamed\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    public void shouldNotWriteWhenPatchChangesNothing() throws Exception {
+        Long id = createTask();
+        String etag = patchTask(id, "{}").andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        RecordingStatementInspector.statements.clear();
+        String sameETag = patchTask(id, "{\"title\": \"My Task\"}").andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(etag, sameETag);
+        assertTrue(RecordingStatementInspector.statements.stream().noneMatch(sql -> sql.startsWith("update tasks")));
+    }
+
+    @Test
+    public void shouldRejectInvalidPatches() throws Exception {
+        Long id = createTask();
+
+        patchTask(id, "{\"status\": null}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for field: status (must not be null)"));
+        patchTask(id, "{\"priority\": \"URGENT\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for field: priority"));
+        patchTask(id, "[]")
+                .andExpect(status().isBadRequest());
+        patchTask(id, "{\"status\": \"DONE\"}")
+                .andExpect(status().isOk());
+        patchTask(-1L, "{\"status\": \"DONE\"}")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void shouldHonourOwnershipAndIfMatch() throws Exception {
+        Long id = createTask();
+        authHelper.registerUser("other", "other@example.com", "password", UserRole.MEMBER);
+        String otherToken = authHelper.loginAndGetToken("other@example.com", "password");
+
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + otherToken)
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, "\"999\"")
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.taskmanagementsystem.stats;
+
+import org.example.taskmanagementsystem.dto.task.GetTaskDTO;
+import org.example.taskmanagementsystem.dto.task.TaskCountRow;
+import org.example.taskmanagementsystem.dto.task.TaskStatsDTO;
+import org.example.taskmanagementsystem.enums.TaskPriority;
+import org.example.taskmanagementsystem.enums.TaskStatus;
+import org.example.taskmanagementsystem.event.TaskEvent;
+import org.example.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskStatisticsTests {
+    private TaskRepository taskRepository;
+    private TaskStatistics taskStatistics;
+
+    private static GetTaskDTO task(long id, TaskStatus status, TaskPriority priority, String ownerEmail) {
+        return new GetTaskDTO(id, "Task " + id, "Description", status, priority, ownerEmail);
+    }
+
+    // counts in declaration order: TODO, IN_PROGRESS, DONE, then LOW, MEDIUM, HIGH
+    private static TaskStatsDTO stats(long total, long todo, long inProgress, long done, long low, long medium, long high) {
+        return new TaskStatsDTO(total,
+                Map.of(TaskStatus.TODO, todo, TaskStatus.IN_PROGRESS, inProgress, TaskStatus.DONE, done),
+                Map.of(TaskPriority.LOW, low, TaskPriority.MEDIUM, medium, TaskPriority.HIGH, high));
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = Mockito.mock(TaskRepository.class);
+        taskStatistics = new TaskStatistics(taskRepository, Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldCountCommittedWrites() {
+        taskStatistics.onTaskEvent(TaskEvent.created(task(1, TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com")));
+        taskStatistics.onTaskEvent(TaskEvent.created(task(2, TaskStatus.TODO, TaskPriority.LOW, "sam@gmail.com")));
+        taskStatistics.onTaskEvent(TaskEvent.created(task(3, TaskStatus.DONE, TaskPriority.LOW, "test@gmail.com")));
+        taskStatistics.onTaskEvent(TaskEvent.updated(task(1, TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com"), task(1, TaskStatus.DONE, TaskPriority.HIGH, "sam@gmail.com")));
+        taskStatistics.onTaskEvent(TaskEvent.deleted(task(2, TaskStatus.TODO, TaskPriority.LOW, "sam@gmail.com")));
+
+        assertEquals(stats(2, 0, 0, 2, 1, 0, 1), taskStatistics.global());
+        assertEquals(stats(1, 0, 0, 1, 0, 0, 1), taskStatistics.forOwner("sam@gmail.com"));
+        assertEquals(stats(0, 0, 0, 0, 0, 0, 0), taskStatistics.forOwner("nobody@gmail.com"));
+    }
+
+    @Test
+    void reconcileShouldReplaceCountersWithRecount() {
+        taskStatistics.onTaskEvent(TaskEvent.created(task(1, TaskStatus.TODO, TaskPriority.HIGH, "sam@gmail.com")));
+        Mockito.when(taskRepository.countByOwnerStatusAndPriority()).thenReturn(List.of(
+                new TaskCountRow("sam@gmail.com", TaskStatus.DONE, TaskPriority.LOW, 3),
+                new TaskCountRow("test@gmail.com", TaskStatus.DONE, TaskPriority.HIGH, 2)));
+
+        taskStatistics.reconcile();
+
+        assertEquals(stats(5, 0, 0, 5, 3, 0, 2), taskStatistics.global());
+        assertEquals(stats(3, 0, 0, 3, 3, 0, 0), taskStatistics.forOwner("sam@gmail.com"));
+    }
+
+    @Test
+    void reconcileShouldKeepWritesCommittedDuringRecount() {
+        Mockito.when(taskRepository.countByOwnerStatusAndPriority()).thenAnswer(invocation -> {
+            // committed after the recount's snapshot, so missing from its rows
+            taskStatistics.onTaskEvent(TaskEvent.created(task(2, TaskStatus.TODO, TaskPriority.LOW, "sam@gmail.com")));
+            return List.of(new TaskCountRow("sam@gmail.com", TaskStatus.DONE, TaskPriority.LOW, 1));
+        });
+
+        taskStatistics.reconcile();
+
+        assertEquals(stats(2, 1, 0, 1, 2, 0, 0), taskStatistics.global());
+    }
+}